@@ -0,0 +1,217 @@
+// FILE: src/AnalyticalModel.java
+// Purpose: Closed-form estimate of how often each slide is fully seen, from the playlist cycle
+// and the Normal visibility model alone — no arrivals drawn, no clock run.
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class AnalyticalModel {
+
+    /* =========================================================
+       The model
+
+       A viewer arrives at a phase that's uniform over the cycle
+       C. Arriving during slide k (probability d_k / C) means they
+       are picked up at the next boundary and start on slide k+1.
+
+       Starting on slide j, they fully see slide i the first time
+       it comes round if their visibility V covers the gap to it
+       plus its whole duration:
+
+         P(full_i) = sum_k (d_k / C) * P(V >= ((o_i - o_{k+1}) mod C) + d_i)
+
+       V is what the engine draws: max(1, round(Normal(mean, sd))),
+       so P(V >= x) = P(Normal >= x - 0.5) for x >= 2.
+
+       That's per visit and O(slides^2) — independent of the
+       roster and the horizon. Arrival counts only come in when
+       scaling up: a student with m arrivals a week fully sees
+       slide i at least once that week with 1 - (1 - p_i)^m.
+       (Seconds added up across separate visits aren't modelled;
+       the simulation is still the reference for that.)
+
+       The sign is assumed on around the clock: a config calendar
+       (operating hours, holidays) is ignored here, so with one
+       the estimate runs high for arrivals outside open hours.
+       ========================================================= */
+    private AnalyticalModel() { }
+
+    public static class SlideEstimate {
+        public final int slideId;
+        public final String slideName;
+        public final int durationSeconds;
+        public final double fullPerVisit;        // P(fully seen) on one visit
+        public final double fullPerStudentWeek;  // P(fully seen at least once), averaged over students
+        public final double expectedFull;        // expected FULL records over the whole horizon
+
+        SlideEstimate(int slideId, String slideName, int durationSeconds,
+                      double fullPerVisit, double fullPerStudentWeek, double expectedFull) {
+            this.slideId = slideId;
+            this.slideName = slideName;
+            this.durationSeconds = durationSeconds;
+            this.fullPerVisit = fullPerVisit;
+            this.fullPerStudentWeek = fullPerStudentWeek;
+            this.expectedFull = expectedFull;
+        }
+    }
+
+    public static class Estimate {
+        public final List<SlideEstimate> slides;
+        public final long cycleSeconds;
+        public final double visibleMeanSec;
+        public final double visibleStdDevSec;
+        public final int weeks;
+        public final int students;
+        public final long arrivalsPerWeek;
+        public final double expectedFullTotal;
+        public final long computeMicros;
+
+        Estimate(List<SlideEstimate> slides, long cycleSeconds, double visibleMeanSec, double visibleStdDevSec,
+                 int weeks, int students, long arrivalsPerWeek, double expectedFullTotal, long computeMicros) {
+            this.slides = slides;
+            this.cycleSeconds = cycleSeconds;
+            this.visibleMeanSec = visibleMeanSec;
+            this.visibleStdDevSec = visibleStdDevSec;
+            this.weeks = weeks;
+            this.students = students;
+            this.arrivalsPerWeek = arrivalsPerWeek;
+            this.expectedFullTotal = expectedFullTotal;
+            this.computeMicros = computeMicros;
+        }
+
+        public String toReport() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("=== ANALYTICAL ESTIMATE ===\n\n");
+            sb.append("Cycle: ").append(cycleSeconds).append("s over ").append(slides.size()).append(" slides; ")
+                    .append(String.format("visibility ~ Normal(%.1f, %.1f)s%n", visibleMeanSec, visibleStdDevSec));
+            sb.append("Computed in ").append(computeMicros).append(" µs\n\n");
+
+            sb.append("--- Per slide ---\n");
+            for (SlideEstimate s : slides) {
+                sb.append(String.format("%s (ID: %d, %ds) — per visit %.4f — per student-week %.4f — expected FULL %.1f%n",
+                        s.slideName, s.slideId, s.durationSeconds,
+                        s.fullPerVisit, s.fullPerStudentWeek, s.expectedFull));
+            }
+
+            sb.append(String.format("%nExpected FULL completions: %.1f over %d week(s) (%d students, %d arrivals per week)%n",
+                    expectedFullTotal, weeks, students, arrivalsPerWeek));
+            return sb.toString();
+        }
+    }
+
+    /* =========================================================
+       Entry point
+       ========================================================= */
+    public static Estimate estimate(SimulationInputs inputs) {
+
+        long started = System.nanoTime();
+
+        SlideTimeline timeline = inputs.getTimeline();
+        double mean = inputs.getVisibleMeanSec();
+        double sd = inputs.getVisibleStdDevSec();
+        double[] perVisit = fullProbabilityPerVisit(timeline, mean, sd);
+
+        // students grouped by arrivals per week, so scaling costs one
+        // power per distinct count rather than one per student; only
+        // arrivals at the main sign count, as in a single-sign run
+        Map<Integer, Integer> studentsByArrivals = new TreeMap<>();
+        long arrivalsPerWeek = 0;
+        for (ColumbiaSignUI.StudentDef s : inputs.getStudents()) {
+            int m = mainSignArrivals(s);
+            studentsByArrivals.merge(m, 1, Integer::sum);
+            arrivalsPerWeek += m;
+        }
+
+        int weeks = Math.max(0, inputs.getWeeksToSimulate());
+        int students = inputs.getStudents().size();
+
+        List<SlideEstimate> out = new ArrayList<>();
+        double total = 0;
+
+        for (int i = 0; i < timeline.size(); i++) {
+            double p = perVisit[i];
+
+            double seenPerWeek = 0;   // expected students who fully see it in one week
+            for (Map.Entry<Integer, Integer> e : studentsByArrivals.entrySet()) {
+                seenPerWeek += e.getValue() * (1 - Math.pow(1 - p, e.getKey()));
+            }
+
+            ColumbiaSignUI.SlideDef s = timeline.getSlide(i);
+            double expected = seenPerWeek * weeks;
+            out.add(new SlideEstimate(s.getSlideId(), s.getSlideName(), s.getDurationSeconds(),
+                    p, students == 0 ? 0 : seenPerWeek / students, expected));
+            total += expected;
+        }
+
+        return new Estimate(out, timeline.getCycleLength(), mean, sd, weeks, students, arrivalsPerWeek, total,
+                (System.nanoTime() - started) / 1_000);
+    }
+
+    private static int mainSignArrivals(ColumbiaSignUI.StudentDef s) {
+        if (s.getArrivals() == null) return 0;
+        int m = 0;
+        for (ColumbiaSignUI.ArrivalDef a : s.getArrivals()) {
+            if (a != null && a.getSignId() == SampleProcessor.MAIN_SIGN_ID) m++;
+        }
+        return m;
+    }
+
+    /** P(a single visit fully sees slide i), by playlist position. */
+    public static double[] fullProbabilityPerVisit(SlideTimeline timeline, double mean, double sd) {
+
+        int n = timeline.size();
+        double cycle = timeline.getCycleLength();
+        double[] p = new double[n];
+
+        for (int k = 0; k < n; k++) {
+
+            double arriveDuring = timeline.getDuration(k) / cycle;
+            if (arriveDuring == 0) continue;
+
+            int start = (k + 1) % n;
+
+            for (int i = 0; i < n; i++) {
+                long gap = Math.floorMod(timeline.getOffset(i) - timeline.getOffset(start), timeline.getCycleLength());
+                int d = timeline.getDuration(i);
+
+                // A zero-length slide only counts if the viewer is still
+                // there when it comes up (they leave as soon as V runs out).
+                long needed = (d == 0 && gap > 0) ? gap + 1 : gap + d;
+
+                p[i] += arriveDuring * visibilityAtLeast(needed, mean, sd);
+            }
+        }
+        return p;
+    }
+
+    /* =========================================================
+       Visibility tail
+
+       P(max(1, round(N(mean, sd))) >= x) for whole seconds x.
+       ========================================================= */
+    static double visibilityAtLeast(long x, double mean, double sd) {
+        if (x <= 1) return 1;
+        double threshold = x - 0.5;
+        if (sd <= 0) return mean >= threshold ? 1 : 0;
+        return 0.5 * erfc((threshold - mean) / (sd * Math.sqrt(2)));
+    }
+
+    private static double erfc(double z) {
+        return 1 - erf(z);
+    }
+
+    // Abramowitz & Stegun 7.1.26 — absolute error below 1.5e-7.
+    static double erf(double z) {
+        double sign = Math.signum(z);
+        double x = Math.abs(z);
+        double t = 1 / (1 + 0.3275911 * x);
+        double poly = t * (0.254829592
+                + t * (-0.284496736
+                + t * (1.421413741
+                + t * (-1.453152027
+                + t * 1.061405429))));
+        return sign * (1 - poly * Math.exp(-x * x));
+    }
+}
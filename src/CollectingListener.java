@@ -0,0 +1,39 @@
+// FILE: src/CollectingListener.java
+// Purpose: The optional "keep everything" sink — gathers playback events and completion
+// records into Lists and hands back a SimulationResult with every event held in memory.
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CollectingListener implements SimulationListener {
+
+    private final boolean collectPlayback;
+    private final List<SampleProcessor.PlaybackEvent> playback = new ArrayList<>();
+    private final List<SampleProcessor.SlideCompletionRecord> completion = new ArrayList<>();
+
+    public CollectingListener() {
+        this(true);
+    }
+
+    /*
+       collectPlayback = false keeps only the completion report — the
+       per-slide playback stream is by far the biggest part of a run.
+    */
+    public CollectingListener(boolean collectPlayback) {
+        this.collectPlayback = collectPlayback;
+    }
+
+    @Override
+    public void onSlideShown(SampleProcessor.PlaybackEvent event) {
+        if (collectPlayback) playback.add(event);
+    }
+
+    @Override
+    public void onCompletion(SampleProcessor.SlideCompletionRecord record) {
+        completion.add(record);
+    }
+
+    public SampleProcessor.SimulationResult toResult(SlideTimeline timeline) {
+        return new SampleProcessor.SimulationResult(playback, completion, timeline);
+    }
+}
@@ -135,6 +135,7 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
     public static class ArrivalDef {
         private String day;   // Monday..Friday
         private String time;  // "HH:mm"
+        private int signId;   // which sign they walk past; 0 = the main sign (slidesData.json)
 
         // Needed for Gson
         public ArrivalDef() { }
@@ -144,15 +145,22 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
             this.time = time;
         }
 
+        public ArrivalDef(String day, String time, int signId) {
+            this(day, time);
+            this.signId = signId;
+        }
+
         public String getDay() { return day; }
         public String getTime() { return time; }
+        public int getSignId() { return signId; }
 
         public void setDay(String day) { this.day = day; }
         public void setTime(String time) { this.time = time; }
+        public void setSignId(int signId) { this.signId = signId; }
 
         @Override
         public String toString() {
-            return day + " @ " + time;
+            return day + " @ " + time + (signId != 0 ? " (sign " + signId + ")" : "");
         }
     }
 
@@ -191,9 +199,14 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         }
 
         public boolean hasArrival(String day, String time) {
+            return hasArrival(day, time, 0);
+        }
+
+        public boolean hasArrival(String day, String time, int signId) {
             for (ArrivalDef a : getArrivals()) {
                 if (a == null) continue;
-                if (safeTrim(a.getDay()).equals(day) && safeTrim(a.getTime()).equals(time)) return true;
+                if (safeTrim(a.getDay()).equals(day) && safeTrim(a.getTime()).equals(time)
+                        && a.getSignId() == signId) return true;
             }
             return false;
         }
@@ -269,6 +282,7 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
 
     private JComboBox<String> cboArrivalDay;
     private JComboBox<String> cboArrivalTime;
+    private JSpinner spnArrivalSign;
     private JButton btnAddArrival;
     private JButton btnRemoveArrival;
 
@@ -301,15 +315,27 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
        =============================== */
     private JButton btnRunSimulation;
     private JButton btnStopRealtime;
+    private JButton btnHeatmap;
+    private JButton btnMultiSign;
+    private JButton btnOptimize;
+    private JButton btnMonteCarlo;
+    private JSpinner spnReplications;
+    private JButton btnExportReport;
     private JRadioButton rbFast;
     private JRadioButton rbRealtime;
     private JComboBox<String> cboPlaybackSpeed;
+    private JTextField txtRunSeed;   // blank = new random draw every run
     private JLabel lblStatus;
     private JTextArea txtResults;
+
+    // The results area is a preview: past this many characters the oldest
+    // lines are dropped. The full report goes out through Export.
+    private static final int RESULTS_PREVIEW_MAX_CHARS = 200_000;
     /* ===============================
        REAL-TIME PLAYBACK STATE
        =============================== */
     private javax.swing.Timer playbackTimer;
+    private SimulationJob simulationJob;   // non-null while a run is in progress
     private List<SampleProcessor.PlaybackEvent> playbackEvents;
     private SampleProcessor.SimulationResult currentResult;
     private int playbackEventIndex = 0;
@@ -321,6 +347,8 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
     private int nextStudentId = 1;
 
     public ColumbiaSignUI() {
+        SimulationMetrics.registerMBean();   // so JConsole can see the engine and playback
+
         setTitle("columbia-dash-sign");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setMinimumSize(new Dimension(1220, 780));
@@ -423,6 +451,7 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         leftTabs = new JTabbedPane();
         leftTabs.addTab("Slides", buildSlidesPanel());
         leftTabs.addTab("Students", buildStudentsPanel());
+        leftTabs.addTab("Sweep", new ParameterSweepPanel());
         panel.add(leftTabs, BorderLayout.CENTER);
         return panel;
     }
@@ -592,6 +621,16 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
 
         arow++;
 
+        ac.gridx = 0; ac.gridy = arow; ac.weightx = 0;
+        arrivalsPanel.add(new JLabel("Sign ID:"), ac);
+
+        spnArrivalSign = new JSpinner(new SpinnerNumberModel(0, 0, 9999, 1));
+        spnArrivalSign.setToolTipText("0 = main sign (slidesData.json); others come from signsData.json");
+        ac.gridx = 1; ac.gridy = arow; ac.weightx = 0.5;
+        arrivalsPanel.add(spnArrivalSign, ac);
+
+        arow++;
+
         JPanel arrivalBtns = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
         btnAddArrival = new JButton("Add Arrival");
         btnRemoveArrival = new JButton("Remove Selected Arrival");
@@ -767,6 +806,17 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         btnRunSimulation = new JButton("Run");
         btnStopRealtime = new JButton("Stop");
         btnStopRealtime.setEnabled(false);
+        btnHeatmap = new JButton("Heatmap");
+        btnMultiSign = new JButton("Multi-Sign");
+        btnMultiSign.setToolTipText("Run the main sign plus every sign in signsData.json, arrivals by their Sign ID");
+        btnOptimize = new JButton("Optimize");
+        btnMonteCarlo = new JButton("Monte Carlo");
+        btnMonteCarlo.setToolTipText("Repeat the run and report FULL rates per slide and student with 95% intervals");
+        spnReplications = new JSpinner(new SpinnerNumberModel(100, 1, 100_000, 10));
+        btnOptimize.setToolTipText("Search slide order and durations for the most FULL views; the playlist isn't changed");
+        btnExportReport = new JButton("Export...");
+        btnExportReport.setToolTipText("Write the last run's full report as text, CSV (.csv) or NDJSON (.ndjson)");
+        btnExportReport.setEnabled(false);
 
         rbFast = new JRadioButton("Fast (Analytical)", true);
         rbRealtime = new JRadioButton("Real-Time (Visual)");
@@ -777,6 +827,9 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         cboPlaybackSpeed = new JComboBox<>(new String[]{"1x", "5x", "10x", "20x"});
         cboPlaybackSpeed.setSelectedItem("10x");
 
+        txtRunSeed = new JTextField(8);
+        txtRunSeed.setToolTipText("Blank for a fresh random run; a seed makes runs repeatable (and cached)");
+
         lblStatus = new JLabel("Ready");
 
         gc.gridx = 0; gc.gridy = 0; gc.weightx = 0;
@@ -797,7 +850,34 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         gc.gridx = 5; gc.gridy = 0; gc.weightx = 0;
         panel.add(cboPlaybackSpeed, gc);
 
-        gc.gridx = 0; gc.gridy = 1; gc.gridwidth = 6; gc.weightx = 1;
+        gc.gridx = 6; gc.gridy = 0; gc.weightx = 0;
+        panel.add(btnHeatmap, gc);
+
+        gc.gridx = 7; gc.gridy = 0; gc.weightx = 0;
+        panel.add(btnExportReport, gc);
+
+        gc.gridx = 8; gc.gridy = 0; gc.weightx = 0;
+        panel.add(new JLabel("Seed:"), gc);
+
+        gc.gridx = 9; gc.gridy = 0; gc.weightx = 0;
+        panel.add(txtRunSeed, gc);
+
+        gc.gridx = 0; gc.gridy = 1; gc.weightx = 0;
+        panel.add(btnMultiSign, gc);
+
+        gc.gridx = 1; gc.gridy = 1; gc.weightx = 0;
+        panel.add(btnOptimize, gc);
+
+        gc.gridx = 2; gc.gridy = 1; gc.weightx = 0;
+        panel.add(btnMonteCarlo, gc);
+
+        gc.gridx = 3; gc.gridy = 1; gc.weightx = 0;
+        panel.add(new JLabel("Replications:"), gc);
+
+        gc.gridx = 4; gc.gridy = 1; gc.weightx = 0;
+        panel.add(spnReplications, gc);
+
+        gc.gridx = 0; gc.gridy = 2; gc.gridwidth = 10; gc.weightx = 1;
         panel.add(lblStatus, gc);
 
         return panel;
@@ -1022,12 +1102,14 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
                 return;
             }
 
-            if (s.hasArrival(day, time)) {
+            int signId = (Integer) spnArrivalSign.getValue();
+
+            if (s.hasArrival(day, time, signId)) {
                 JOptionPane.showMessageDialog(this, "That arrival already exists for this student.", "Arrivals", JOptionPane.INFORMATION_MESSAGE);
                 return;
             }
 
-            s.addArrival(new ArrivalDef(day, time));
+            s.addArrival(new ArrivalDef(day, time, signId));
             loadArrivalsForStudent(s);
             studentList.repaint();
             lblStatus.setText("Added arrival for student ID " + s.getStudentId() + ".");
@@ -1156,32 +1238,316 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         });
 
         // Simulation controls (UI-only)
+        // Both branches load the JSON and do their work off the EDT.
         btnRunSimulation.addActionListener(e -> {
 
+            if (!checkSeedField()) return;
+
             SampleProcessor processor = new SampleProcessor();
+            processor.setSeed(seedField());
 
             if (rbFast.isSelected()) {
 
-                String report = processor.runAndReturnReport();
-                txtResults.setText(report);
-                lblStatus.setText("Simulation complete.");
+                // Closed-form estimate from the playlist and visibility model;
+                // no arrivals are drawn and nothing is simulated.
+                btnRunSimulation.setEnabled(false);
+                lblStatus.setText("Estimating...");
+
+                new SwingWorker<AnalyticalModel.Estimate, Void>() {
+                    @Override
+                    protected AnalyticalModel.Estimate doInBackground() {
+                        SimulationInputs inputs = processor.loadInputs();
+                        if (inputs == null) {
+                            throw new IllegalStateException("Could not load config/slides/students JSON");
+                        }
+                        return AnalyticalModel.estimate(inputs);
+                    }
+
+                    @Override
+                    protected void done() {
+                        btnRunSimulation.setEnabled(true);
+                        try {
+                            txtResults.setText(get().toReport());
+                            lblStatus.setText("Analytical estimate complete.");
+                        } catch (Exception ex) {
+                            Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                            txtResults.setText(cause.getMessage() + ".");
+                            lblStatus.setText("Analytical estimate failed.");
+                        }
+                    }
+                }.execute();
             }
             else {
 
-                // Keep your real-time branch exactly as it was
-                currentResult = processor.runFullSimulation();
-                playbackEvents = currentResult.playbackEvents;
-                playbackEventIndex = 0;
-
+                // Simulate on a worker (progress + per-week tallies as it goes),
+                // then play the result back in real time. Stop cancels either part.
                 btnRunSimulation.setEnabled(false);
                 btnStopRealtime.setEnabled(true);
+                txtResults.setText("=== SIMULATING ===\n\n");
+                lblStatus.setText("Simulating...");
+
+                simulationJob = new SimulationJob(processor, new SimulationJob.Callbacks() {
+                    @Override
+                    public void onUpdate(SimulationJob.Update u) {
+                        lblStatus.setText(u.fromCache
+                                ? (u.arrivals < 0
+                                        ? String.format("Loaded from cache — arrivals not kept, %,d slide views",
+                                                u.slideViews)
+                                        : String.format("Loaded from cache — %,d arrivals, %,d slide views",
+                                                u.arrivals, u.slideViews))
+                                : String.format("Simulating... %d%% — week %d, %,d arrivals, %,d slide views",
+                                        (int) (u.fraction() * 100), u.week(), u.arrivals, u.slideViews));
+                        for (SimulationJob.WeekTally w : u.finishedWeeks) {
+                            appendResult("Week " + w.week + " — " + w.full + " FULL / "
+                                    + w.partial + " PARTIAL\n");
+                        }
+                    }
 
-                startRealtimePlayback();
+                    @Override
+                    public void onDone(SampleProcessor.SimulationResult result) {
+                        simulationJob = null;
+                        currentResult = result;
+                        playbackEvents = result.playbackEvents;
+                        playbackEventIndex = 0;
+                        btnExportReport.setEnabled(true);
+
+                        appendResult("\n=== PLAYBACK ===\n\n");
+                        startRealtimePlayback();
+                    }
+
+                    @Override
+                    public void onCancelled() {
+                        simulationJob = null;
+                        btnRunSimulation.setEnabled(true);
+                        btnStopRealtime.setEnabled(false);
+                        lblStatus.setText("Simulation cancelled.");
+                    }
+
+                    @Override
+                    public void onFailed(Throwable cause) {
+                        simulationJob = null;
+                        btnRunSimulation.setEnabled(true);
+                        btnStopRealtime.setEnabled(false);
+                        lblStatus.setText("Simulation failed: " + cause.getMessage());
+                    }
+                });
+                simulationJob.execute();
             }
         });
 
 
-        btnStopRealtime.addActionListener(e -> stopRealtime());
+        btnStopRealtime.addActionListener(e -> {
+            if (simulationJob != null) simulationJob.cancel(true);
+            else stopRealtime();
+        });
+
+        // One run straight into the day/slot/slide cube, shown in a dialog.
+        btnHeatmap.addActionListener(e -> {
+
+            if (!checkSeedField()) return;
+            Long seed = seedField();
+
+            btnHeatmap.setEnabled(false);
+            lblStatus.setText("Building heatmap...");
+
+            new SwingWorker<ExposureHeatmap, Void>() {
+                @Override
+                protected ExposureHeatmap doInBackground() {
+                    SampleProcessor processor = new SampleProcessor();
+                    processor.setEngineMode(SampleProcessor.EngineMode.SKIP_AHEAD);
+
+                    SimulationInputs inputs = processor.loadInputs();
+                    if (inputs == null) {
+                        throw new IllegalStateException("Could not load config/slides/students JSON");
+                    }
+
+                    ExposureHeatmap heatmap = new ExposureHeatmap(inputs);
+                    processor.runSimulation(inputs,
+                            (seed != null) ? new java.util.Random(seed) : new java.util.Random(), heatmap);
+                    return heatmap;
+                }
+
+                @Override
+                protected void done() {
+                    btnHeatmap.setEnabled(true);
+                    try {
+                        ExposureHeatmap heatmap = get();
+
+                        JDialog dialog = new JDialog(ColumbiaSignUI.this, "Exposure Heatmap", false);
+                        dialog.setContentPane(new HeatmapPanel(heatmap));
+                        dialog.pack();
+                        dialog.setSize(dialog.getWidth() + 24, Math.min(dialog.getHeight(), 700));
+                        dialog.setLocationRelativeTo(ColumbiaSignUI.this);
+                        dialog.setVisible(true);
+
+                        lblStatus.setText("Heatmap ready.");
+                    } catch (Exception ex) {
+                        Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                        lblStatus.setText("Heatmap failed: " + cause.getMessage());
+                    }
+                }
+            }.execute();
+        });
+
+        // Main sign plus signsData.json; each arrival goes to the sign it's tagged with.
+        btnMultiSign.addActionListener(e -> {
+
+            if (!checkSeedField()) return;
+            Long seed = seedField();
+
+            btnMultiSign.setEnabled(false);
+            lblStatus.setText("Simulating all signs...");
+
+            new SwingWorker<MultiSignSimulation.MultiSignResult, Void>() {
+                @Override
+                protected MultiSignSimulation.MultiSignResult doInBackground() {
+                    SampleProcessor processor = new SampleProcessor();
+
+                    SimulationInputs inputs = processor.loadInputs();
+                    if (inputs == null) {
+                        throw new IllegalStateException("Could not load config/slides/students JSON");
+                    }
+
+                    List<MultiSignSimulation.Sign> signs = processor.loadSigns(inputs);
+                    return new MultiSignSimulation().run(inputs, signs,
+                            (seed != null) ? new java.util.Random(seed) : new java.util.Random());
+                }
+
+                @Override
+                protected void done() {
+                    btnMultiSign.setEnabled(true);
+                    try {
+                        MultiSignSimulation.MultiSignResult result = get();
+                        showReportPreview(result.toReport());
+                        lblStatus.setText("Multi-sign run complete (" + result.signs.size() + " signs).");
+                    } catch (Exception ex) {
+                        Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                        lblStatus.setText("Multi-sign run failed: " + cause.getMessage());
+                    }
+                }
+            }.execute();
+        });
+
+        // Best playlist for the loaded JSON and its lift; reported only, nothing is saved.
+        btnOptimize.addActionListener(e -> {
+
+            if (!checkSeedField()) return;
+            Long seed = seedField();
+
+            btnOptimize.setEnabled(false);
+            lblStatus.setText("Optimizing playlist...");
+
+            new SwingWorker<PlaylistOptimizer.OptimizationResult, Void>() {
+                @Override
+                protected PlaylistOptimizer.OptimizationResult doInBackground() {
+                    SampleProcessor processor = new SampleProcessor();
+
+                    SimulationInputs inputs = processor.loadInputs();
+                    if (inputs == null) {
+                        throw new IllegalStateException("Could not load config/slides/students JSON");
+                    }
+
+                    return new PlaylistOptimizer().run(inputs,
+                            (seed != null) ? seed : new java.util.Random().nextLong());
+                }
+
+                @Override
+                protected void done() {
+                    btnOptimize.setEnabled(true);
+                    try {
+                        PlaylistOptimizer.OptimizationResult result = get();
+                        showReportPreview(result.toReport());
+                        lblStatus.setText(String.format("Optimizer done: %+.2f FULL per run (%+.2f%%).",
+                                result.getLift(), result.getLiftPercent()));
+                    } catch (Exception ex) {
+                        Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                        lblStatus.setText("Optimizer failed: " + cause.getMessage());
+                    }
+                }
+            }.execute();
+        });
+
+        // N seeded replications; mean / sd / 95% CI of the FULL rates.
+        btnMonteCarlo.addActionListener(e -> {
+
+            if (!checkSeedField()) return;
+            Long seed = seedField();
+            int replications = (Integer) spnReplications.getValue();
+
+            btnMonteCarlo.setEnabled(false);
+            lblStatus.setText("Running " + replications + " replications...");
+
+            new SwingWorker<MonteCarloRunner.MonteCarloResult, Void>() {
+                @Override
+                protected MonteCarloRunner.MonteCarloResult doInBackground() {
+                    SampleProcessor processor = new SampleProcessor();
+
+                    SimulationInputs inputs = processor.loadInputs();
+                    if (inputs == null) {
+                        throw new IllegalStateException("Could not load config/slides/students JSON");
+                    }
+
+                    return new MonteCarloRunner().run(inputs, replications,
+                            (seed != null) ? seed : new java.util.Random().nextLong());
+                }
+
+                @Override
+                protected void done() {
+                    btnMonteCarlo.setEnabled(true);
+                    try {
+                        MonteCarloRunner.MonteCarloResult result = get();
+                        showReportPreview(result.toReport());
+                        lblStatus.setText(String.format("Monte Carlo done: FULL rate %.4f (%d replications).",
+                                result.overallFullRate.mean, result.replications));
+                    } catch (Exception ex) {
+                        Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                        lblStatus.setText("Monte Carlo failed: " + cause.getMessage());
+                    }
+                }
+            }.execute();
+        });
+
+        // The last run's full report, streamed to a file; the format comes from the extension.
+        btnExportReport.addActionListener(e -> {
+
+            SampleProcessor.SimulationResult result = currentResult;
+            if (result == null) return;
+
+            JFileChooser chooser = new JFileChooser(new File("."));
+            chooser.setDialogTitle("Export report");
+            chooser.setSelectedFile(new File("report.txt"));
+            chooser.addChoosableFileFilter(new FileNameExtensionFilter("CSV (*.csv)", "csv"));
+            chooser.addChoosableFileFilter(new FileNameExtensionFilter("NDJSON (*.ndjson, *.jsonl)", "ndjson", "jsonl"));
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+            File file = chooser.getSelectedFile();
+            ReportWriter.Format format = ReportWriter.Format.forFile(file.toPath());
+
+            btnExportReport.setEnabled(false);
+            lblStatus.setText("Exporting " + file.getName() + "...");
+
+            new SwingWorker<Void, Void>() {
+                @Override
+                protected Void doInBackground() throws IOException {
+                    try (ReportWriter report = ReportWriter.open(file.toPath(), format)) {
+                        SampleProcessor.replay(result, report);
+                    }
+                    return null;
+                }
+
+                @Override
+                protected void done() {
+                    btnExportReport.setEnabled(true);
+                    try {
+                        get();
+                        lblStatus.setText("Exported " + format + " report to " + file.getName() + ".");
+                    } catch (Exception ex) {
+                        Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                        lblStatus.setText("Export failed: " + cause.getMessage());
+                    }
+                }
+            }.execute();
+        });
 
         ItemListener speedEnable = e -> cboPlaybackSpeed.setEnabled(rbRealtime.isSelected());
         rbFast.addItemListener(speedEnable);
@@ -1390,10 +1756,23 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
        Preview helpers These help out with like image rotation, etc.
        =============================== */
     private void showImagePreview(File imgFile) {
+        SimulationEvents.ImagePreview event = SimulationEvents.recording() ? new SimulationEvents.ImagePreview() : null;
+        if (event != null) event.begin();
+
         ImageIcon icon = new ImageIcon(imgFile.getAbsolutePath());
         int w = icon.getIconWidth();
         int h = icon.getIconHeight();
 
+        // JFR: the decode above is where a huge slide image hurts.
+        if (event != null && event.shouldCommit()) {
+            event.path = imgFile.getPath();
+            event.fileBytes = imgFile.length();
+            event.width = w;
+            event.height = h;
+            event.decodedBytes = (w > 0 && h > 0) ? 4L * w * h : 0;
+            event.commit();
+        }
+
         if (w <= 0 || h <= 0) {
             lblPreview.setIcon(null);
             lblPreview.setText("Preview unavailable");
@@ -1409,6 +1788,9 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
     private void renderPreviewScaledAndRotated() {
         if (originalPreviewImage == null) return;
 
+        SimulationEvents.RenderPreview event = SimulationEvents.recording() ? new SimulationEvents.RenderPreview() : null;
+        if (event != null) event.begin();
+
         int panelW = Math.max(200, lblPreview.getWidth() - 30);
         int panelH = Math.max(200, lblPreview.getHeight() - 30);
 
@@ -1431,7 +1813,16 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         Image scaled = rotated.getScaledInstance(newW, newH, Image.SCALE_SMOOTH);
 
         lblPreview.setText("");
-        lblPreview.setIcon(new ImageIcon(scaled));
+        lblPreview.setIcon(new ImageIcon(scaled));   // ImageIcon waits for the scaled pixels
+
+        if (event != null && event.shouldCommit()) {
+            event.sourceWidth = imgW;
+            event.sourceHeight = imgH;
+            event.targetWidth = newW;
+            event.targetHeight = newH;
+            event.rotationDegrees = previewRotationDegrees;
+            event.commit();
+        }
     }
 
     private Image rotateImage(Image src, int degrees) {
@@ -1444,6 +1835,9 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         int newW = (degrees == 90 || degrees == 270) ? h : w;
         int newH = (degrees == 90 || degrees == 270) ? w : h;
 
+        SimulationEvents.RotateImage event = SimulationEvents.recording() ? new SimulationEvents.RotateImage() : null;
+        if (event != null) event.begin();
+
         java.awt.image.BufferedImage out = new java.awt.image.BufferedImage(
                 newW, newH, java.awt.image.BufferedImage.TYPE_INT_ARGB);
 
@@ -1457,6 +1851,14 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         g2.drawImage(src, 0, 0, null);
         g2.dispose();
 
+        if (event != null && event.shouldCommit()) {
+            event.width = w;
+            event.height = h;
+            event.rotationDegrees = degrees;
+            event.bytesDrawn = 4L * newW * newH;
+            event.commit();
+        }
+
         return out;
     }
 /* ===============================
@@ -1483,7 +1885,7 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
 
             stopRealtime();
 
-            txtResults.append("\n=== SUMMARY BY STUDENT (FULL ONLY) ===\n");
+            appendResult("\n=== SUMMARY BY STUDENT (FULL ONLY) ===\n");
 
             SampleProcessor processor = new SampleProcessor();
             var report = currentResult.completionReport;
@@ -1506,7 +1908,7 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
 
                 var slides = summary.get(key);
 
-                txtResults.append(
+                appendResult(
                         key + " fully saw: " +
                                 String.join(", ", slides) + "\n"
                 );
@@ -1524,8 +1926,8 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
 
         lblStatus.setText(
                 "Week " + event.weekNumber + " " +
-                        event.day + " " +
-                        event.arrivalTime.format(java.time.format.DateTimeFormatter.ofPattern("HH:mm")) +
+                        event.getDay() + " " +
+                        event.getArrivalTimeText() +
                         " — " +
                         event.studentName +
                         " seeing \"" +
@@ -1535,10 +1937,10 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
                         "s)"
         );
 
-        txtResults.append(
+        appendResult(
                 "Week " + event.weekNumber + " " +
-                        event.day + " " +
-                        event.arrivalTime.format(java.time.format.DateTimeFormatter.ofPattern("HH:mm")) +
+                        event.getDay() + " " +
+                        event.getArrivalTimeText() +
                         " — " +
                         event.studentName +
                         " saw \"" +
@@ -1553,7 +1955,11 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         int delayMs =
                 (int) ((event.secondsToDisplay * 1000) / playbackSpeedMultiplier);
 
+        // Drift = how late the timer actually fired (EDT busy, coalescing, OS timer slack).
+        long dueNanos = System.nanoTime() + delayMs * 1_000_000L;
+
         playbackTimer = new javax.swing.Timer(delayMs, e -> {
+            SimulationMetrics.shared().recordPlaybackDrift(System.nanoTime() - dueNanos);
             playbackEventIndex++;
             playNextEvent();
         });
@@ -1562,6 +1968,56 @@ And we use Gson to pretty-print everything nicely when we write stuff out.
         playbackTimer.start();
     }
 
+    // False (after a warning) when the Seed field is neither blank nor a whole number.
+    private boolean checkSeedField() {
+        String text = txtRunSeed.getText().trim();
+        if (text.isEmpty()) return true;
+        try {
+            Long.parseLong(text);
+            return true;
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Seed must be a whole number.", "Invalid Seed", JOptionPane.WARNING_MESSAGE);
+            return false;
+        }
+    }
+
+    // The Seed field as a seed; null when blank. Call checkSeedField first.
+    private Long seedField() {
+        String text = txtRunSeed.getText().trim();
+        return text.isEmpty() ? null : Long.parseLong(text);
+    }
+
+    // Shows a whole report in the results area, cut off after
+    // RESULTS_PREVIEW_MAX_CHARS at a line end.
+    private void showReportPreview(String report) {
+        if (report.length() <= RESULTS_PREVIEW_MAX_CHARS) {
+            txtResults.setText(report);
+            return;
+        }
+        int cut = report.lastIndexOf('\n', RESULTS_PREVIEW_MAX_CHARS) + 1;
+        if (cut <= 0) cut = RESULTS_PREVIEW_MAX_CHARS;
+        txtResults.setText(report.substring(0, cut)
+                + "\n... " + (report.length() - cut) + " more characters not shown\n");
+    }
+
+    // Appends to the results preview, dropping whole lines off the top
+    // once it passes RESULTS_PREVIEW_MAX_CHARS (down to three quarters,
+    // so it doesn't trim on every line).
+    private void appendResult(String text) {
+        txtResults.append(text);
+
+        int excess = txtResults.getDocument().getLength() - RESULTS_PREVIEW_MAX_CHARS;
+        if (excess <= 0) return;
+
+        try {
+            int cut = excess + RESULTS_PREVIEW_MAX_CHARS / 4;
+            int end = txtResults.getLineEndOffset(txtResults.getLineOfOffset(cut));
+            txtResults.replaceRange("", 0, end);
+        } catch (javax.swing.text.BadLocationException ex) {
+            txtResults.setText("");
+        }
+    }
+
     private void showSlideById(int slideId, String fallbackName) {
 
         for (SlideDef s : slideTableModel.getSlides()) {
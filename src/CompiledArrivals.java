@@ -0,0 +1,83 @@
+// FILE: src/CompiledArrivals.java
+// Purpose: Every student's weekly arrivals parsed once into flat int columns (roster order), so
+// each run's arrival draw is int arithmetic with no string or java.time work per arrival.
+
+import java.util.List;
+
+final class CompiledArrivals {
+
+    /* =========================================================
+       Layout
+
+       Arrival k (0 .. size-1) is
+         studentIndex[k]   roster position
+         dayOrdinal[k]     SimTime day ordinal (0 = Monday)
+         minuteOfDay[k]    base time before randomisation
+         signId[k]         sign it's at
+
+       They're stored student by student in roster order, each
+       student's arrivals in file order; firstOfStudent[s] ..
+       firstOfStudent[s+1] is student s's range. That is exactly
+       the order the arrival draw consumes random numbers in.
+
+       A time or day that doesn't parse doesn't throw here (the
+       analytical estimate and the editor don't care); it's kept in
+       error and the arrival draw refuses to run, same as before.
+       ========================================================= */
+    final int[] studentIndex;
+    final int[] dayOrdinal;
+    final int[] minuteOfDay;
+    final int[] signId;
+    final int[] firstOfStudent;
+    final String error;
+
+    private CompiledArrivals(int size, int students) {
+        studentIndex = new int[size];
+        dayOrdinal = new int[size];
+        minuteOfDay = new int[size];
+        signId = new int[size];
+        firstOfStudent = new int[students + 1];
+        error = null;
+    }
+
+    private CompiledArrivals(int students, String error) {
+        studentIndex = dayOrdinal = minuteOfDay = signId = new int[0];
+        firstOfStudent = new int[students + 1];
+        this.error = error;
+    }
+
+    static CompiledArrivals compile(List<ColumbiaSignUI.StudentDef> students) {
+
+        int size = 0;
+        for (ColumbiaSignUI.StudentDef s : students) {
+            if (s.getArrivals() != null) size += s.getArrivals().size();
+        }
+
+        CompiledArrivals c = new CompiledArrivals(size, students.size());
+        int k = 0;
+
+        for (int si = 0; si < students.size(); si++) {
+            c.firstOfStudent[si] = k;
+            List<ColumbiaSignUI.ArrivalDef> arrivals = students.get(si).getArrivals();
+            if (arrivals == null) continue;
+
+            for (ColumbiaSignUI.ArrivalDef a : arrivals) {
+                try {
+                    c.minuteOfDay[k] = SimTime.parseMinuteOfDay(a.getTime());
+                    c.dayOrdinal[k] = SimTime.dayOrdinal(a.getDay());
+                } catch (IllegalArgumentException ex) {
+                    return new CompiledArrivals(students.size(),
+                            students.get(si).getStudentName() + ": " + ex.getMessage());
+                }
+                c.studentIndex[k] = si;
+                c.signId[k] = a.getSignId();
+                k++;
+            }
+        }
+        c.firstOfStudent[students.size()] = k;
+
+        return c;
+    }
+
+    int size() { return studentIndex.length; }
+}
@@ -0,0 +1,88 @@
+// FILE: src/ExposureHeatmap.java
+// Purpose: Listener that adds up viewing seconds per (school day, 15-minute slot, slide) while the
+// simulation runs. Fixed-size cube, so memory doesn't depend on horizon or roster size.
+
+public class ExposureHeatmap implements SimulationListener {
+
+    /* =========================================================
+       Layout
+
+       seconds[day][slot][slide]
+         day   — 0 .. schoolDaysPerWeek-1 (Monday first), all
+                 weeks folded together
+         slot  — 15-minute bucket of wall-clock time, 0 = 00:00-00:15
+                 (same grid as the arrival time picker); engine
+                 seconds count from simulationStartTime, so that
+                 gets added back first
+         slide — playlist position
+
+       A slide that straddles a slot boundary is split between
+       the two slots by the seconds that fell in each.
+       ========================================================= */
+    public static final int SLOT_SECONDS = 15 * 60;
+    public static final int SLOTS = 86400 / SLOT_SECONDS;
+
+    private final SlideTimeline timeline;
+    private final int days;
+    private final int startSecondOfDay;
+    private final int[][][] seconds;
+
+    public ExposureHeatmap(SimulationInputs inputs) {
+        this.timeline = inputs.getTimeline();
+        this.days = Math.max(1, inputs.getSchoolDaysPerWeek());
+        this.startSecondOfDay = inputs.getSimulationStartTime().toSecondOfDay();
+        this.seconds = new int[days][SLOTS][timeline.size()];
+    }
+
+    @Override
+    public void onSlideShown(SampleProcessor.PlaybackEvent e) {
+
+        if (e.slideIndex < 0) return;
+
+        long secondsPerWeek = 86400L * days;
+        long t = Math.floorMod(e.slideStartSeconds, secondsPerWeek);
+        int remaining = e.secondsToDisplay;
+
+        while (remaining > 0) {
+            int day = (int) (t / 86400);
+            int clock = (int) ((t % 86400 + startSecondOfDay) % 86400);
+            int slot = clock / SLOT_SECONDS;
+
+            int inSlot = Math.min(remaining, SLOT_SECONDS - clock % SLOT_SECONDS);
+            seconds[day][slot][e.slideIndex] += inSlot;
+
+            remaining -= inSlot;
+            t = (t + inSlot) % secondsPerWeek;
+        }
+    }
+
+    /* =========================================================
+       Reads
+       ========================================================= */
+    public int getDays() { return days; }
+
+    public int getSlideCount() { return timeline.size(); }
+
+    public SlideTimeline getTimeline() { return timeline; }
+
+    public int get(int day, int slot, int slide) {
+        return seconds[day][slot][slide];
+    }
+
+    /** Seconds for one slide, or summed over every slide when slide < 0. */
+    public long value(int day, int slot, int slide) {
+        if (slide >= 0) return seconds[day][slot][slide];
+        long sum = 0;
+        for (int v : seconds[day][slot]) sum += v;
+        return sum;
+    }
+
+    public static String dayName(int day) {
+        return SimTime.dayName(day);
+    }
+
+    public static String slotLabel(int slot) {
+        int minutes = slot * SLOT_SECONDS / 60;
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
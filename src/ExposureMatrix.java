@@ -0,0 +1,106 @@
+// FILE: src/ExposureMatrix.java
+// Purpose: Flat int[] exposure counters indexed by (week, student, slide) using dense ids,
+// so the simulation hot loop never builds "week|student|slide" string keys.
+
+public final class ExposureMatrix {
+
+    /* =========================================================
+       Layout
+
+       One int[] row per week, allocated the first time that week
+       is touched. Inside a row the cell for (student, slide) is
+       student * slideCount + slide.
+
+       Cells store seconds + 1 so that 0 means "never shown" —
+       a zero-length slide that was on screen still counts as seen
+       (and trivially FULL), same as the old map did.
+       ========================================================= */
+    private final int weekCount;
+    private final int studentCount;
+    private final int slideCount;
+    private final int[][] byWeek;
+
+    public ExposureMatrix(int weekCount, int studentCount, int slideCount) {
+        if (weekCount < 0 || studentCount < 0 || slideCount < 0) {
+            throw new IllegalArgumentException("Dimensions must not be negative");
+        }
+        if ((long) studentCount * slideCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Too many students x slides for one week row: " + studentCount + " x " + slideCount);
+        }
+        this.weekCount = weekCount;
+        this.studentCount = studentCount;
+        this.slideCount = slideCount;
+        this.byWeek = new int[weekCount][];
+    }
+
+    public int getWeekCount() { return weekCount; }
+    public int getStudentCount() { return studentCount; }
+    public int getSlideCount() { return slideCount; }
+
+    /* =========================================================
+       Hot path
+
+       week is 1-based (matches ArrivalEvent.weekNumber),
+       student and slide are dense 0-based ids.
+       ========================================================= */
+    public void add(int week, int student, int slide, int seconds) {
+        int[] row = rowFor(week);
+        int cell = student * slideCount + slide;
+        if (row[cell] == 0) row[cell] = 1;
+        row[cell] += seconds;
+    }
+
+    public boolean wasShown(int week, int student, int slide) {
+        int[] row = byWeek[week - 1];
+        return row != null && row[student * slideCount + slide] != 0;
+    }
+
+    /** Seconds accumulated for this cell (0 if never shown). */
+    public int secondsSeen(int week, int student, int slide) {
+        int[] row = byWeek[week - 1];
+        if (row == null) return 0;
+        int v = row[student * slideCount + slide];
+        return v == 0 ? 0 : v - 1;
+    }
+
+    /** True if nothing at all was recorded for this week. */
+    public boolean isWeekEmpty(int week) {
+        return byWeek[week - 1] == null;
+    }
+
+    /* =========================================================
+       Merge
+
+       Adds another matrix of the same shape into this one, for
+       engines that accumulate per partition and combine at the end.
+       ========================================================= */
+    public void addAll(ExposureMatrix other) {
+
+        if (other.weekCount != weekCount
+                || other.studentCount != studentCount
+                || other.slideCount != slideCount) {
+            throw new IllegalArgumentException("Exposure matrices have different shapes");
+        }
+
+        for (int w = 0; w < weekCount; w++) {
+            int[] src = other.byWeek[w];
+            if (src == null) continue;
+
+            int[] dst = rowFor(w + 1);
+            for (int i = 0; i < src.length; i++) {
+                if (src[i] == 0) continue;
+                dst[i] = (dst[i] == 0) ? src[i] : dst[i] + src[i] - 1;
+            }
+        }
+    }
+
+    private int[] rowFor(int week) {
+        int[] row = byWeek[week - 1];
+        if (row == null) {
+            row = new int[studentCount * slideCount];
+            byWeek[week - 1] = row;
+        }
+        return row;
+    }
+}
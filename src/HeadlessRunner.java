@@ -0,0 +1,712 @@
+// FILE: src/HeadlessRunner.java
+// Purpose: Command-line entry point that runs one simulation with no UI — no AWT/Swing class is
+// ever loaded — writes the report / result store to files and prints timings as JSON lines.
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public final class HeadlessRunner {
+
+    /* =========================================================
+       Usage
+
+         java -cp out:gson.jar HeadlessRunner [options]
+         java -cp out:gson.jar Main [options]     (same thing;
+                                                  no options = UI)
+
+         --config PATH      configData.json    (default ./configData.json)
+         --slides PATH      slidesData.json    (default ./slidesData.json)
+         --students PATH    studentData.json   (default ./studentData.json)
+         --seed N           fixed seed; seeded runs use the result cache
+         --engine MODE      TICK | SKIP_AHEAD | DAY_PARALLEL | VIEWER_PARALLEL
+                            (default SKIP_AHEAD)
+         --report PATH      report, streamed as the engine runs
+         --report-format F  TEXT | CSV | NDJSON (default from the
+                            extension: .csv, .ndjson / .jsonl, else TEXT)
+         --store PATH       columnar result store (ResultStore)
+         --timings PATH     JSON lines go here instead of stdout
+         --trace LEVEL      engine trace level (default OFF)
+         --no-cache         don't read or write the result cache
+         --jmx              publish SimulationMetrics over JMX (costs
+                            some startup; useful for long runs)
+
+       Other kinds of run (instead of the single-sign one above)
+
+         --signs PATH       multi-sign run: the main sign plus every
+                            sign in PATH (signsData.json), arrivals
+                            routed by their signId. --report gets the
+                            any-sign completion report; the result
+                            line has one entry per sign.
+         --optimize         search slide order and durations for the
+                            playlist with the most FULL completions
+                            (PlaylistOptimizer). The result line has
+                            the baseline, the best, the lift and the
+                            playlist; --report gets the text summary.
+                            No --seed = a fresh random seed, echoed.
+         --replications N   N independent runs (MonteCarloRunner): the
+                            result line has the overall and per-slide
+                            FULL rates (mean, sd, 95% CI); --report
+                            gets the per-student table as well.
+                            No --seed = a fresh random seed, echoed.
+         --check-engines    run every engine mode on the same arrival
+                            draw, streamed and as the kept VisitRecord
+                            view, and compare what they emit. Exits
+                            EXIT_ENGINES_DIFFER if any pair differs.
+                            Worth a run on any odd playlist (zero-
+                            length slides, repeated ids, calendars).
+
+       Nothing on the way touches the UI classes: the engine only
+       uses the nested *Def data classes, which load on their own,
+       and this class never names anything in java.awt / javax.swing.
+       For short runs, -XX:TieredStopAtLevel=1 takes roughly a
+       fifth off the wall time; the JIT's top tier never pays off
+       before the process exits anyway.
+       ========================================================= */
+    private static final String USAGE =
+            "usage: HeadlessRunner [--config PATH] [--slides PATH] [--students PATH] [--seed N]\n" +
+            "                      [--engine TICK|SKIP_AHEAD|DAY_PARALLEL|VIEWER_PARALLEL]\n" +
+            "                      [--report PATH] [--report-format TEXT|CSV|NDJSON]\n" +
+            "                      [--store PATH] [--timings PATH]\n" +
+            "                      [--trace OFF|SUMMARY|ARRIVALS|ALL] [--no-cache] [--jmx]\n" +
+            "                      [--signs PATH | --optimize | --replications N | --check-engines]";
+
+    /* =========================================================
+       Exit codes
+
+       Also echoed in the final JSON line, so a wrapper can read
+       either one.
+       ========================================================= */
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;         // anything unexpected
+    public static final int EXIT_USAGE = 2;          // bad command line
+    public static final int EXIT_BAD_INPUTS = 3;     // a JSON file is missing, unreadable or unusable
+    public static final int EXIT_NO_ARRIVALS = 4;    // inputs load, but the config can't draw arrivals
+    public static final int EXIT_OUTPUT_FAILED = 5;  // report / store / timings couldn't be written
+    public static final int EXIT_ENGINES_DIFFER = 6; // --check-engines found modes that disagree
+
+    /* =========================================================
+       Timing lines (JSON, one object per line)
+
+         {"event":"phase","phase":"load","ms":12.4}
+         {"event":"phase","phase":"simulate","ms":180.2}
+         {"event":"result","exitCode":0,"seed":7,"engine":"SKIP_AHEAD",
+          "fromCache":false,"arrivals":...,"slideViews":...,
+          "full":...,"partial":...,"totalMs":...,"sinceJvmStartMs":...}
+
+       On failure the last line is {"event":"error","exitCode":N,
+       "message":"..."}. sinceJvmStartMs is process start to the
+       result being written — the number to watch for startup.
+       arrivals is -1 on a disk cache hit: the result store keeps
+       what was shown, not who arrived.
+       ========================================================= */
+    private final Gson gson = new Gson();
+    private final long startNanos = System.nanoTime();
+    private PrintStream timings = System.out;
+
+    private HeadlessRunner() { }
+
+    public static void main(String[] args) {
+        int code = new HeadlessRunner().run(args);
+        System.exit(code);
+    }
+
+    int run(String[] args) {
+
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        if (options.help) {
+            System.out.println(USAGE);
+            return EXIT_OK;
+        }
+
+        if (options.timings != null) {
+            try {
+                timings = new PrintStream(Files.newOutputStream(options.timings), true, StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                System.err.println("Cannot write timings to " + options.timings + ": " + ex.getMessage());
+                return EXIT_OUTPUT_FAILED;
+            }
+        }
+
+        try {
+            return simulate(options);
+        } catch (RuntimeException ex) {
+            return error(EXIT_FAILED, ex.toString());
+        } finally {
+            timings.flush();
+            if (timings != System.out) timings.close();
+        }
+    }
+
+    private int simulate(Options options) {
+
+        if (options.jmx) SimulationMetrics.registerMBean();
+
+        SampleProcessor processor = new SampleProcessor();
+        processor.setInputFiles(options.config, options.slides, options.students);
+        processor.setEngineMode(options.engine);
+        processor.setTraceLevel(options.trace);
+        processor.setSeed(options.seed);
+        if (options.noCache) processor.setResultCache(null);
+
+        for (Path p : new Path[]{options.config, options.slides, options.students}) {
+            if (!Files.isReadable(p)) return error(EXIT_BAD_INPUTS, "Cannot read " + p);
+        }
+
+        /* ---------- load ---------- */
+        long t0 = System.nanoTime();
+        SimulationInputs inputs = processor.loadInputs();
+        phase("load", t0);
+        if (inputs == null) {
+            return error(EXIT_BAD_INPUTS, "Cannot use inputs " + options.config + ", " + options.slides
+                    + ", " + options.students + " (see stderr)");
+        }
+
+        String unusable = arrivalProblem(inputs);
+        if (unusable != null) return error(EXIT_NO_ARRIVALS, "Config can't produce arrivals: " + unusable);
+
+        if (options.signs != null) return simulateSigns(options, processor, inputs);
+        if (options.optimize) return optimize(options, inputs);
+        if (options.replications != null) return replicate(options, inputs);
+        if (options.checkEngines) return checkEngines(options, processor, inputs);
+
+        /* ---------- simulate (+ stream outputs) ---------- */
+        Counter counter = new Counter();
+        boolean fromCache = false;
+
+        try (ReportWriter report = (options.report == null) ? null
+                     : ReportWriter.open(options.report, options.reportFormat());
+             ResultStore.Writer store = (options.store == null) ? null
+                     : ResultStore.create(options.store, inputs.getStudents())) {
+
+            SimulationListener sink = counter;
+            if (report != null) sink = SimulationListener.all(sink, report);
+            if (store != null) sink = SimulationListener.all(sink, store);
+
+            t0 = System.nanoTime();
+
+            if (options.seed != null && !options.noCache) {
+                // Cached or not, the result is replayed into the outputs afterwards.
+                SampleProcessor.SimulationResult result =
+                        processor.runCached(inputs, options.seed, counter.arrivalsOnly());
+                fromCache = !counter.ran;
+                if (fromCache) counter.arrivals = (result.visits != null) ? result.visits.size() : -1;
+                SampleProcessor.replay(result, sink);
+            } else {
+                Random random = (options.seed != null) ? new Random(options.seed) : new Random();
+                if (!processor.runSimulation(inputs, random, sink)) {
+                    phase("simulate", t0);
+                    return error(EXIT_NO_ARRIVALS, "Config can't produce arrivals");
+                }
+            }
+
+            phase("simulate", t0);
+
+        } catch (IOException | UncheckedIOException | IllegalStateException ex) {
+            return error(EXIT_OUTPUT_FAILED, "Cannot write output: " + ex.getMessage());
+        }
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "result");
+        line.put("exitCode", EXIT_OK);
+        line.put("seed", options.seed);
+        line.put("engine", options.engine.name());
+        line.put("fromCache", fromCache);
+        line.put("arrivals", counter.arrivals);
+        line.put("slideViews", counter.slideViews);
+        line.put("full", counter.full);
+        line.put("partial", counter.partial);
+        line.put("totalMs", millisSince(startNanos));
+        line.put("sinceJvmStartMs", sinceJvmStart());
+        emit(line);
+
+        return EXIT_OK;
+    }
+
+    /* =========================================================
+       --signs: one multi-sign run
+       ========================================================= */
+    private int simulateSigns(Options options, SampleProcessor processor, SimulationInputs inputs) {
+
+        if (options.store != null) return error(EXIT_USAGE, "--store only applies to single-sign runs");
+        if (!Files.isReadable(options.signs)) return error(EXIT_BAD_INPUTS, "Cannot read " + options.signs);
+
+        processor.setSignsFile(options.signs);
+        List<MultiSignSimulation.Sign> signs = processor.loadSigns(inputs);
+
+        long t0 = System.nanoTime();
+        MultiSignSimulation.MultiSignResult result;
+        try {
+            Random random = (options.seed != null) ? new Random(options.seed) : new Random();
+            result = new MultiSignSimulation().run(inputs, signs, random);
+        } catch (IllegalArgumentException ex) {
+            phase("simulate", t0);
+            return error(EXIT_NO_ARRIVALS, ex.getMessage());
+        }
+        phase("simulate", t0);
+
+        if (options.report != null) {
+            try (ReportWriter report = ReportWriter.open(options.report, options.reportFormat())) {
+                for (SampleProcessor.SlideCompletionRecord r : result.completionReport) report.onCompletion(r);
+                report.onFinished();
+            } catch (IOException | UncheckedIOException ex) {
+                return error(EXIT_OUTPUT_FAILED, "Cannot write output: " + ex.getMessage());
+            }
+        }
+
+        long full = 0;
+        for (SampleProcessor.SlideCompletionRecord r : result.completionReport) {
+            if (r.fullySeen) full++;
+        }
+
+        List<Map<String, Object>> perSign = new ArrayList<>();
+        for (MultiSignSimulation.SignResult sr : result.signs) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("signId", sr.signId);
+            m.put("signName", sr.signName);
+            m.put("slides", sr.slides);
+            m.put("arrivals", sr.arrivals);
+            m.put("full", sr.fullCount);
+            m.put("partial", sr.partialCount);
+            perSign.add(m);
+        }
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "result");
+        line.put("exitCode", EXIT_OK);
+        line.put("seed", options.seed);
+        line.put("signs", perSign);
+        line.put("unroutedArrivals", result.unroutedArrivals);
+        line.put("full", full);
+        line.put("partial", result.completionReport.size() - full);
+        line.put("totalMs", millisSince(startNanos));
+        line.put("sinceJvmStartMs", sinceJvmStart());
+        emit(line);
+
+        return EXIT_OK;
+    }
+
+    /* =========================================================
+       --optimize: best playlist for these inputs
+       ========================================================= */
+    private int optimize(Options options, SimulationInputs inputs) {
+
+        if (options.store != null) return error(EXIT_USAGE, "--store only applies to single-sign runs");
+
+        long seed = (options.seed != null) ? options.seed : new Random().nextLong();
+
+        long t0 = System.nanoTime();
+        PlaylistOptimizer.OptimizationResult result;
+        try {
+            result = new PlaylistOptimizer().run(inputs, seed);
+        } catch (IllegalArgumentException ex) {
+            phase("optimize", t0);
+            return error(EXIT_NO_ARRIVALS, ex.getMessage());
+        }
+        phase("optimize", t0);
+
+        if (options.report != null) {
+            try {
+                Files.writeString(options.report, result.toReport(), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                return error(EXIT_OUTPUT_FAILED, "Cannot write output: " + ex.getMessage());
+            }
+        }
+
+        List<Map<String, Object>> playlist = new ArrayList<>();
+        for (ColumbiaSignUI.SlideDef s : result.bestPlaylist) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("slideOrder", s.getSlideOrder());
+            m.put("slideId", s.getSlideId());
+            m.put("slideName", s.getSlideName());
+            m.put("durationSeconds", s.getDurationSeconds());
+            playlist.add(m);
+        }
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "result");
+        line.put("exitCode", EXIT_OK);
+        line.put("seed", seed);
+        line.put("baselineFull", result.baselineFull);
+        line.put("bestFull", result.bestFull);
+        line.put("lift", result.getLift());
+        line.put("liftPercent", result.getLiftPercent());
+        line.put("evaluations", result.evaluations);
+        line.put("chains", result.chains);
+        line.put("playlist", playlist);
+        line.put("totalMs", millisSince(startNanos));
+        line.put("sinceJvmStartMs", sinceJvmStart());
+        emit(line);
+
+        return EXIT_OK;
+    }
+
+    /* =========================================================
+       --replications: Monte Carlo completion rates
+       ========================================================= */
+    private int replicate(Options options, SimulationInputs inputs) {
+
+        if (options.store != null) return error(EXIT_USAGE, "--store only applies to single-sign runs");
+
+        long seed = (options.seed != null) ? options.seed : new Random().nextLong();
+
+        long t0 = System.nanoTime();
+        MonteCarloRunner.MonteCarloResult result =
+                new MonteCarloRunner().run(inputs, options.replications, seed);
+        phase("replicate", t0);
+
+        if (options.report != null) {
+            try {
+                Files.writeString(options.report, result.toReport(), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                return error(EXIT_OUTPUT_FAILED, "Cannot write output: " + ex.getMessage());
+            }
+        }
+
+        List<Map<String, Object>> slides = new ArrayList<>();
+        for (MonteCarloRunner.SlideStat s : result.slides) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("slideId", s.slideId);
+            m.put("slideName", s.slideName);
+            m.put("fullRate", stat(s.fullRate));
+            slides.add(m);
+        }
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "result");
+        line.put("exitCode", EXIT_OK);
+        line.put("seed", seed);
+        line.put("replications", result.replications);
+        line.put("fullRate", stat(result.overallFullRate));
+        line.put("slides", slides);
+        line.put("totalMs", millisSince(startNanos));
+        line.put("sinceJvmStartMs", sinceJvmStart());
+        emit(line);
+
+        return EXIT_OK;
+    }
+
+    private static Map<String, Object> stat(MonteCarloRunner.Stat s) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("mean", s.mean);
+        m.put("sd", s.stdDev);
+        m.put("ci95Low", s.ci95Low);
+        m.put("ci95High", s.ci95High);
+        return m;
+    }
+
+    /* =========================================================
+       --check-engines: same draw through every engine mode
+
+       Each mode runs twice from new Random(seed): streamed into a
+       Fingerprint, and kept as visits with the lazy playback view
+       replayed into one. Everything has to match TICK's stream.
+       ========================================================= */
+    private int checkEngines(Options options, SampleProcessor processor, SimulationInputs inputs) {
+
+        if (options.store != null || options.report != null) {
+            return error(EXIT_USAGE, "--check-engines writes no report or store");
+        }
+
+        long seed = (options.seed != null) ? options.seed : new Random().nextLong();
+
+        long t0 = System.nanoTime();
+        Fingerprint reference = null;
+        boolean identical = true;
+        List<Map<String, Object>> runs = new ArrayList<>();
+
+        for (SampleProcessor.EngineMode mode : SampleProcessor.EngineMode.values()) {
+            processor.setEngineMode(mode);
+
+            Fingerprint streamed = new Fingerprint();
+            processor.runSimulation(inputs, new Random(seed), streamed);
+
+            Fingerprint viewed = new Fingerprint();
+            SampleProcessor.replay(processor.runSimulation(inputs, new Random(seed)), viewed);
+
+            for (Fingerprint f : new Fingerprint[]{streamed, viewed}) {
+                if (reference == null) reference = f;
+                boolean same = f.sameAs(reference);
+                identical &= same;
+
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("engine", mode.name());
+                m.put("output", (f == streamed) ? "streamed" : "visits");
+                m.put("playbackEvents", f.playback);
+                m.put("completions", f.completions);
+                m.put("hash", f.hash);
+                m.put("matchesTick", same);
+                runs.add(m);
+            }
+        }
+        phase("check", t0);
+
+        int code = identical ? EXIT_OK : EXIT_ENGINES_DIFFER;
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "result");
+        line.put("exitCode", code);
+        line.put("seed", seed);
+        line.put("identical", identical);
+        line.put("runs", runs);
+        line.put("totalMs", millisSince(startNanos));
+        line.put("sinceJvmStartMs", sinceJvmStart());
+        emit(line);
+
+        if (!identical) System.err.println("Engine modes disagree for seed " + seed);
+        return code;
+    }
+
+    // What would make the engine's arrival draw give up, or null.
+    private static String arrivalProblem(SimulationInputs inputs) {
+        if (inputs.getCompiledArrivals().error != null) return inputs.getCompiledArrivals().error;
+        try {
+            SimTime.parseMinuteOfDay(inputs.config.simulationStartTime);
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return "simulationStartTime: " + ex.getMessage();
+        }
+    }
+
+    /* =========================================================
+       JSON lines
+       ========================================================= */
+    private void phase(String name, long fromNanos) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "phase");
+        line.put("phase", name);
+        line.put("ms", millisSince(fromNanos));
+        emit(line);
+    }
+
+    private int error(int code, String message) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", "error");
+        line.put("exitCode", code);
+        line.put("message", message);
+        emit(line);
+        System.err.println(message);
+        return code;
+    }
+
+    private void emit(Map<String, Object> line) {
+        timings.println(gson.toJson(line));
+    }
+
+    private static double millisSince(long nanos) {
+        return Math.round((System.nanoTime() - nanos) / 100_000.0) / 10.0;
+    }
+
+    private static long sinceJvmStart() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /* =========================================================
+       Counts for the result line
+       ========================================================= */
+    private static final class Counter implements SimulationListener {
+        long arrivals;        // -1: cache hit from disk, which doesn't keep visits
+        long slideViews;
+        long full;
+        long partial;
+        boolean ran;
+
+        @Override
+        public void onArrival(SampleProcessor.ArrivalEvent arrival, long admittedAtSeconds) {
+            arrivals++;
+        }
+
+        @Override
+        public void onSlideShown(SampleProcessor.PlaybackEvent event) {
+            slideViews++;
+        }
+
+        @Override
+        public void onCompletion(SampleProcessor.SlideCompletionRecord record) {
+            if (record.fullySeen) full++;
+            else partial++;
+        }
+
+        // Watches a cached run for arrivals only; everything else is counted on
+        // replay. Sees nothing at all on a cache hit.
+        SimulationListener arrivalsOnly() {
+            return new SimulationListener() {
+                @Override
+                public void onArrival(SampleProcessor.ArrivalEvent arrival, long admittedAtSeconds) {
+                    ran = true;
+                    arrivals++;
+                }
+            };
+        }
+    }
+
+    /* =========================================================
+       Everything an engine emits, folded into counts and a hash
+       (field by field, in emission order) for --check-engines
+       ========================================================= */
+    private static final class Fingerprint implements SimulationListener {
+        long playback;
+        long completions;
+        long hash = 17;
+
+        @Override
+        public void onSlideShown(SampleProcessor.PlaybackEvent e) {
+            playback++;
+            mix(e.weekNumber);
+            mix(e.studentIndex);
+            mix(e.dayOrdinal);
+            mix(e.arrivalMinute);
+            mix(e.slideId);
+            mix(e.slideIndex);
+            mix(e.slideStartSeconds);
+            mix(e.secondsToDisplay);
+            mix(String.valueOf(e.studentName).hashCode());
+            mix(String.valueOf(e.slideName).hashCode());
+        }
+
+        @Override
+        public void onCompletion(SampleProcessor.SlideCompletionRecord r) {
+            completions++;
+            mix(r.weekNumber);
+            mix(r.studentIndex);
+            mix(r.studentId);
+            mix(r.slideId);
+            mix(r.slideIndex);
+            mix(r.fullySeen ? 1 : 0);
+            mix(String.valueOf(r.studentName).hashCode());
+            mix(String.valueOf(r.slideName).hashCode());
+        }
+
+        private void mix(long v) {
+            hash = hash * 1_000_003L + v;
+        }
+
+        boolean sameAs(Fingerprint other) {
+            return playback == other.playback && completions == other.completions && hash == other.hash;
+        }
+    }
+
+    /* =========================================================
+       Command line
+       ========================================================= */
+    private static final class Options {
+        Path config = Paths.get("configData.json");
+        Path slides = Paths.get("slidesData.json");
+        Path students = Paths.get("studentData.json");
+        Long seed;
+        SampleProcessor.EngineMode engine = SampleProcessor.EngineMode.SKIP_AHEAD;
+        Path report;
+        ReportWriter.Format reportFormat;
+        Path store;
+        Path timings;
+        Path signs;
+        Integer replications;
+        SimulationTrace.Level trace = SimulationTrace.Level.OFF;
+        boolean noCache;
+        boolean jmx;
+        boolean optimize;
+        boolean checkEngines;
+        boolean help;
+
+        static Options parse(String[] args) {
+            Options o = new Options();
+
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                String value = null;
+
+                int eq = arg.indexOf('=');
+                if (arg.startsWith("--") && eq > 0) {
+                    value = arg.substring(eq + 1);
+                    arg = arg.substring(0, eq);
+                }
+
+                switch (arg) {
+                    case "--help", "-h" -> o.help = true;
+                    case "--no-cache" -> o.noCache = true;
+                    case "--jmx" -> o.jmx = true;
+                    case "--optimize" -> o.optimize = true;
+                    case "--check-engines" -> o.checkEngines = true;
+                    default -> {
+                        if (value == null) {
+                            if (i + 1 >= args.length) throw new IllegalArgumentException(arg + " needs a value");
+                            value = args[++i];
+                        }
+                        o.set(arg, value);
+                    }
+                }
+            }
+            int kinds = (o.signs != null ? 1 : 0) + (o.optimize ? 1 : 0) + (o.replications != null ? 1 : 0)
+                    + (o.checkEngines ? 1 : 0);
+            if (kinds > 1) {
+                throw new IllegalArgumentException("--signs, --optimize, --replications and --check-engines are"
+                        + " different kinds of run; pick one");
+            }
+            return o;
+        }
+
+        private void set(String name, String value) {
+            switch (name) {
+                case "--config" -> config = Paths.get(value);
+                case "--slides" -> slides = Paths.get(value);
+                case "--students" -> students = Paths.get(value);
+                case "--report" -> report = Paths.get(value);
+                case "--report-format" -> reportFormat = parseEnum(ReportWriter.Format.class, name, value);
+                case "--store" -> store = Paths.get(value);
+                case "--signs" -> signs = Paths.get(value);
+                case "--timings" -> timings = Paths.get(value);
+                case "--seed" -> {
+                    try {
+                        seed = Long.parseLong(value.trim());
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("--seed must be a whole number, not " + value);
+                    }
+                }
+                case "--replications" -> {
+                    try {
+                        replications = Integer.parseInt(value.trim());
+                    } catch (NumberFormatException ex) {
+                        replications = 0;
+                    }
+                    if (replications < 1) {
+                        throw new IllegalArgumentException("--replications must be a whole number >= 1, not " + value);
+                    }
+                }
+                case "--engine" -> engine = parseEnum(SampleProcessor.EngineMode.class, name, value);
+                case "--trace" -> trace = parseEnum(SimulationTrace.Level.class, name, value);
+                default -> throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+
+        ReportWriter.Format reportFormat() {
+            return (reportFormat != null) ? reportFormat : ReportWriter.Format.forFile(report);
+        }
+
+        private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+            try {
+                return Enum.valueOf(type, value.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(name + " can't be " + value);
+            }
+        }
+    }
+}
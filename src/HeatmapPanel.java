@@ -0,0 +1,139 @@
+// FILE: src/HeatmapPanel.java
+// Purpose: Paints an ExposureHeatmap as a grid — school days across, 15-minute slots down —
+// shaded by viewing seconds, for one slide or all slides together.
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+public class HeatmapPanel extends JPanel {
+
+    private static final int CELL_W = 110;
+    private static final int CELL_H = 14;
+    private static final int LABEL_W = 56;
+    private static final int HEADER_H = 20;
+
+    private static final Color EMPTY = new Color(245, 245, 245);
+    private static final Color HOT = new Color(20, 60, 160);
+
+    private final ExposureHeatmap heatmap;
+    private final JComboBox<String> cboSlide = new JComboBox<>();
+    private final Grid grid;
+
+    // Only the slots that saw anything (first..last), so a school day
+    // isn't lost in 96 rows of mostly night.
+    private int firstSlot;
+    private int lastSlot;
+
+    public HeatmapPanel(ExposureHeatmap heatmap) {
+        super(new BorderLayout(4, 4));
+        this.heatmap = heatmap;
+
+        cboSlide.addItem("All slides");
+        SlideTimeline t = heatmap.getTimeline();
+        for (int i = 0; i < t.size(); i++) {
+            cboSlide.addItem(t.getSlide(i).getSlideName() + " (ID: " + t.getSlide(i).getSlideId() + ")");
+        }
+        findActiveSlots();
+        grid = new Grid();
+        cboSlide.addActionListener(e -> grid.repaint());
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        top.add(new JLabel("Slide:"));
+        top.add(cboSlide);
+        add(top, BorderLayout.NORTH);
+
+        add(new JScrollPane(grid), BorderLayout.CENTER);
+    }
+
+    private int selectedSlide() {
+        return cboSlide.getSelectedIndex() - 1;   // -1 = all slides
+    }
+
+    private void findActiveSlots() {
+        firstSlot = ExposureHeatmap.SLOTS;
+        lastSlot = -1;
+        for (int slot = 0; slot < ExposureHeatmap.SLOTS; slot++) {
+            for (int day = 0; day < heatmap.getDays(); day++) {
+                if (heatmap.value(day, slot, -1) > 0) {
+                    firstSlot = Math.min(firstSlot, slot);
+                    lastSlot = Math.max(lastSlot, slot);
+                }
+            }
+        }
+        if (lastSlot < 0) {   // nothing recorded — show the whole day
+            firstSlot = 0;
+            lastSlot = ExposureHeatmap.SLOTS - 1;
+        }
+    }
+
+    /* ===============================
+       The grid itself
+       =============================== */
+    private class Grid extends JComponent {
+
+        Grid() {
+            setToolTipText("");   // turns on getToolTipText(MouseEvent)
+            setPreferredSize(new Dimension(
+                    LABEL_W + heatmap.getDays() * CELL_W,
+                    HEADER_H + (lastSlot - firstSlot + 1) * CELL_H));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+
+            int slide = selectedSlide();
+            long max = 0;
+            for (int day = 0; day < heatmap.getDays(); day++) {
+                for (int slot = firstSlot; slot <= lastSlot; slot++) {
+                    max = Math.max(max, heatmap.value(day, slot, slide));
+                }
+            }
+
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+
+            FontMetrics fm = g.getFontMetrics();
+            g.setColor(Color.DARK_GRAY);
+            for (int day = 0; day < heatmap.getDays(); day++) {
+                g.drawString(ExposureHeatmap.dayName(day), LABEL_W + day * CELL_W + 4, HEADER_H - 6);
+            }
+
+            for (int slot = firstSlot; slot <= lastSlot; slot++) {
+                int y = HEADER_H + (slot - firstSlot) * CELL_H;
+
+                if (slot % 4 == 0) {
+                    g.setColor(Color.DARK_GRAY);
+                    g.drawString(ExposureHeatmap.slotLabel(slot), 4, y + fm.getAscent());
+                }
+
+                for (int day = 0; day < heatmap.getDays(); day++) {
+                    long v = heatmap.value(day, slot, slide);
+                    g.setColor(shade(v, max));
+                    g.fillRect(LABEL_W + day * CELL_W, y, CELL_W - 1, CELL_H - 1);
+                }
+            }
+        }
+
+        @Override
+        public String getToolTipText(MouseEvent e) {
+            int day = (e.getX() - LABEL_W) / CELL_W;
+            int slot = firstSlot + (e.getY() - HEADER_H) / CELL_H;
+            if (e.getX() < LABEL_W || e.getY() < HEADER_H
+                    || day >= heatmap.getDays() || slot > lastSlot) return null;
+
+            return ExposureHeatmap.dayName(day) + " " + ExposureHeatmap.slotLabel(slot)
+                    + " — " + heatmap.value(day, slot, selectedSlide()) + "s viewed";
+        }
+    }
+
+    private static Color shade(long v, long max) {
+        if (v <= 0 || max <= 0) return EMPTY;
+        double f = Math.sqrt((double) v / max);   // sqrt so quiet slots still show up
+        return new Color(
+                (int) (EMPTY.getRed() + f * (HOT.getRed() - EMPTY.getRed())),
+                (int) (EMPTY.getGreen() + f * (HOT.getGreen() - EMPTY.getGreen())),
+                (int) (EMPTY.getBlue() + f * (HOT.getBlue() - EMPTY.getBlue())));
+    }
+}
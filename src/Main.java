@@ -1,9 +1,21 @@
-
 import javax.swing.SwingUtilities;
 import java.io.IOException;
 public class Main {
     public static void main(String[] args) throws InterruptedException, IOException {
 
+        /* --------------------------------------------
+         * HEADLESS ENTRY POINT
+         * --------------------------------------------
+         * Any arguments at all = batch run, no UI
+         * (see HeadlessRunner for the options). The
+         * Swing call below is never reached, so no
+         * AWT/Swing class gets loaded on this path.
+         */
+        if (args.length > 0) {
+            HeadlessRunner.main(args);
+            return;
+        }
+
          /* --------------------------------------------
          * UI ENTRY POINT
          * --------------------------------------------
@@ -0,0 +1,318 @@
+// FILE: src/MonteCarloRunner.java
+// Purpose: Runs N independent simulations in parallel on a fork/join pool and reports
+// per-slide and per-student completion rates as mean, stddev and a 95% confidence interval.
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class MonteCarloRunner {
+
+    /* =========================================================
+       Knobs
+
+       LEAF_SIZE — replications one fork/join leaf runs in a row
+       before it stops splitting. Small enough to balance across
+       cores, big enough that task overhead doesn't show up.
+       ========================================================= */
+    private static final int LEAF_SIZE = 4;
+    private static final double Z_95 = 1.959963984540054;
+
+    private final ForkJoinPool pool;
+    private final SampleProcessor processor;
+
+    public MonteCarloRunner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloRunner(ForkJoinPool pool) {
+        this.pool = pool;
+        this.processor = new SampleProcessor();
+        this.processor.setEngineMode(SampleProcessor.EngineMode.SKIP_AHEAD);
+        this.processor.setTraceLevel(SimulationTrace.Level.OFF);
+    }
+
+    /* =========================================================
+       Result models
+
+       A "rate" is FULL completions divided by opportunities:
+         per slide   — over weeks x students
+         per student — over weeks x slides
+       Each replication gives one rate; Stat summarises them.
+       ========================================================= */
+    public static class Stat {
+        public final double mean;
+        public final double stdDev;
+        public final double ci95Low;
+        public final double ci95High;
+
+        Stat(double mean, double stdDev, double ci95Low, double ci95High) {
+            this.mean = mean;
+            this.stdDev = stdDev;
+            this.ci95Low = ci95Low;
+            this.ci95High = ci95High;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mean=%.4f sd=%.4f 95%%CI=[%.4f, %.4f]", mean, stdDev, ci95Low, ci95High);
+        }
+    }
+
+    public static class SlideStat {
+        public final int slideId;
+        public final String slideName;
+        public final Stat fullRate;
+
+        SlideStat(int slideId, String slideName, Stat fullRate) {
+            this.slideId = slideId;
+            this.slideName = slideName;
+            this.fullRate = fullRate;
+        }
+    }
+
+    public static class StudentStat {
+        public final int studentId;
+        public final String studentName;
+        public final Stat fullRate;
+
+        StudentStat(int studentId, String studentName, Stat fullRate) {
+            this.studentId = studentId;
+            this.studentName = studentName;
+            this.fullRate = fullRate;
+        }
+    }
+
+    public static class MonteCarloResult {
+        public final int replications;
+        public final long seed;
+        public final Stat overallFullRate;
+        public final List<SlideStat> slides;
+        public final List<StudentStat> students;
+
+        MonteCarloResult(int replications, long seed, Stat overallFullRate,
+                         List<SlideStat> slides, List<StudentStat> students) {
+            this.replications = replications;
+            this.seed = seed;
+            this.overallFullRate = overallFullRate;
+            this.slides = slides;
+            this.students = students;
+        }
+
+        public String toReport() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("=== MONTE CARLO (").append(replications)
+                    .append(" replications, seed ").append(seed).append(") ===\n\n");
+            sb.append("Overall FULL rate: ").append(overallFullRate).append("\n\n");
+
+            sb.append("--- Per slide ---\n");
+            for (SlideStat s : slides) {
+                sb.append(s.slideName).append(" (ID: ").append(s.slideId).append(") ")
+                        .append(s.fullRate).append('\n');
+            }
+
+            sb.append("\n--- Per student ---\n");
+            for (StudentStat s : students) {
+                sb.append(s.studentName).append(" (ID: ").append(s.studentId).append(") ")
+                        .append(s.fullRate).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    /* =========================================================
+       Entry point
+
+       Streams are split from one SplittableRandom up front, in
+       replication order, so replication i always gets the same
+       stream for a given seed no matter how the pool schedules.
+       ========================================================= */
+    public MonteCarloResult run(SimulationInputs inputs, int replications, long seed) {
+
+        if (replications < 1) {
+            throw new IllegalArgumentException("replications must be >= 1");
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[replications];
+        for (int i = 0; i < replications; i++) streams[i] = root.split();
+
+        Tally total = pool.invoke(new ReplicationTask(inputs, streams, 0, replications));
+
+        return summarise(inputs, total, replications, seed);
+    }
+
+    /* =========================================================
+       Fork/join task
+
+       Splits the replication range in half until it's LEAF_SIZE
+       or smaller, runs those sequentially, and merges tallies on
+       the way back up (fixed tree shape → reproducible sums).
+       ========================================================= */
+    private class ReplicationTask extends RecursiveTask<Tally> {
+
+        private final SimulationInputs inputs;
+        private final SplittableRandom[] streams;
+        private final int from;
+        private final int to;
+
+        ReplicationTask(SimulationInputs inputs, SplittableRandom[] streams, int from, int to) {
+            this.inputs = inputs;
+            this.streams = streams;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+
+            if (to - from <= LEAF_SIZE) {
+                Tally tally = new Tally(inputs);
+                for (int i = from; i < to; i++) {
+                    // The tally listens to completion records directly —
+                    // no playback list is ever built for a replication.
+                    processor.runSimulation(inputs, streams[i], tally);
+                    tally.closeReplication(inputs);
+                }
+                return tally;
+            }
+
+            int mid = (from + to) >>> 1;
+            ReplicationTask left = new ReplicationTask(inputs, streams, from, mid);
+            ReplicationTask right = new ReplicationTask(inputs, streams, mid, to);
+
+            left.fork();
+            Tally r = right.compute();
+            Tally l = left.join();
+
+            l.merge(r);
+            return l;
+        }
+    }
+
+    /* =========================================================
+       Running sums of rate and rate^2 per slide / per student
+
+       Also the listener for the leaf's runs: FULL records are
+       counted into scratch arrays, and closeReplication() turns
+       them into rates and clears the scratch for the next run.
+       ========================================================= */
+    private static class Tally implements SimulationListener {
+        final double[] slideSum;
+        final double[] slideSumSq;
+        final double[] studentSum;
+        final double[] studentSumSq;
+        double overallSum;
+        double overallSumSq;
+
+        final SlideTimeline timeline;
+
+        // per-replication scratch
+        final int[] fullBySlide;
+        final int[] fullByStudent;
+        int fullTotal;
+
+        Tally(SimulationInputs inputs) {
+            int slideCount = inputs.getTimeline().size();
+            int studentCount = inputs.getStudents().size();
+
+            slideSum = new double[slideCount];
+            slideSumSq = new double[slideCount];
+            studentSum = new double[studentCount];
+            studentSumSq = new double[studentCount];
+
+            timeline = inputs.getTimeline();
+            fullBySlide = new int[slideCount];
+            fullByStudent = new int[studentCount];
+        }
+
+        @Override
+        public void onCompletion(SampleProcessor.SlideCompletionRecord r) {
+            if (!r.fullySeen) return;
+            if (r.slideIndex >= 0 && r.slideIndex < fullBySlide.length) fullBySlide[r.slideIndex]++;
+            if (r.studentIndex >= 0 && r.studentIndex < fullByStudent.length) fullByStudent[r.studentIndex]++;
+            fullTotal++;
+        }
+
+        void closeReplication(SimulationInputs inputs) {
+
+            int slideCount = timeline.size();
+            int studentCount = inputs.getStudents().size();
+            int weeks = Math.max(0, inputs.getWeeksToSimulate());
+
+            double slideOpportunities = (double) weeks * studentCount;
+            double studentOpportunities = (double) weeks * slideCount;
+
+            for (int i = 0; i < slideCount; i++) {
+                double rate = slideOpportunities == 0 ? 0 : fullBySlide[i] / slideOpportunities;
+                slideSum[i] += rate;
+                slideSumSq[i] += rate * rate;
+            }
+
+            for (int i = 0; i < studentCount; i++) {
+                double rate = studentOpportunities == 0 ? 0 : fullByStudent[i] / studentOpportunities;
+                studentSum[i] += rate;
+                studentSumSq[i] += rate * rate;
+            }
+
+            double all = slideOpportunities * slideCount;
+            double rate = all == 0 ? 0 : fullTotal / all;
+            overallSum += rate;
+            overallSumSq += rate * rate;
+
+            Arrays.fill(fullBySlide, 0);
+            Arrays.fill(fullByStudent, 0);
+            fullTotal = 0;
+        }
+
+        void merge(Tally other) {
+            for (int i = 0; i < slideSum.length; i++) {
+                slideSum[i] += other.slideSum[i];
+                slideSumSq[i] += other.slideSumSq[i];
+            }
+            for (int i = 0; i < studentSum.length; i++) {
+                studentSum[i] += other.studentSum[i];
+                studentSumSq[i] += other.studentSumSq[i];
+            }
+            overallSum += other.overallSum;
+            overallSumSq += other.overallSumSq;
+        }
+    }
+
+    /* =========================================================
+       Summary
+
+       Sample stddev (n - 1) and a normal-approximation 95% CI on
+       the mean: mean ± 1.96 * sd / sqrt(n).
+       ========================================================= */
+    private MonteCarloResult summarise(SimulationInputs inputs, Tally t, int n, long seed) {
+
+        SlideTimeline timeline = inputs.getTimeline();
+        List<SlideStat> slides = new ArrayList<>();
+        for (int i = 0; i < timeline.size(); i++) {
+            ColumbiaSignUI.SlideDef s = timeline.getSlide(i);
+            slides.add(new SlideStat(s.getSlideId(), s.getSlideName(),
+                    stat(t.slideSum[i], t.slideSumSq[i], n)));
+        }
+
+        List<StudentStat> students = new ArrayList<>();
+        for (int i = 0; i < inputs.getStudents().size(); i++) {
+            ColumbiaSignUI.StudentDef s = inputs.getStudents().get(i);
+            students.add(new StudentStat(s.getStudentId(), s.getStudentName(),
+                    stat(t.studentSum[i], t.studentSumSq[i], n)));
+        }
+
+        return new MonteCarloResult(n, seed, stat(t.overallSum, t.overallSumSq, n), slides, students);
+    }
+
+    private static Stat stat(double sum, double sumSq, int n) {
+        double mean = sum / n;
+        double variance = (n > 1) ? Math.max(0, (sumSq - n * mean * mean) / (n - 1)) : 0;
+        double sd = Math.sqrt(variance);
+        double half = Z_95 * sd / Math.sqrt(n);
+        return new Stat(mean, sd, mean - half, mean + half);
+    }
+}
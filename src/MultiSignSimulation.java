@@ -0,0 +1,284 @@
+// FILE: src/MultiSignSimulation.java
+// Purpose: Several signs, each with its own playlist, watched by one shared student population.
+// Each sign runs on its own thread; completion is merged so a slide counts if any sign showed it.
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class MultiSignSimulation {
+
+    /* =========================================================
+       How it's split
+
+       Arrivals are drawn once for the whole population, each
+       tagged with the sign it's at (ArrivalDef.signId), then
+       routed into one queue per sign in admission order. Signs
+       don't interact while running, so each one is an ordinary
+       single-playlist run on its own thread. Total work follows
+       the number of arrivals, not signs x students.
+
+       A slide is matched across signs by slideId. For each
+       (week, student, slide):
+         shown — shown on at least one sign
+         FULL  — fully seen on at least one sign (seconds are
+                 not added up across signs)
+       ========================================================= */
+    public static class Sign {
+        public final int signId;
+        public final String signName;
+        public final SlideTimeline timeline;
+
+        public Sign(int signId, String signName, SlideTimeline timeline) {
+            this.signId = signId;
+            this.signName = signName;
+            this.timeline = timeline;
+        }
+    }
+
+    public static class SignResult {
+        public final int signId;
+        public final String signName;
+        public final int slides;
+        public final int arrivals;
+        public final long fullCount;
+        public final long partialCount;
+
+        SignResult(int signId, String signName, int slides, int arrivals, long fullCount, long partialCount) {
+            this.signId = signId;
+            this.signName = signName;
+            this.slides = slides;
+            this.arrivals = arrivals;
+            this.fullCount = fullCount;
+            this.partialCount = partialCount;
+        }
+    }
+
+    public static class MultiSignResult {
+        public final List<SignResult> signs;
+        public final List<SampleProcessor.SlideCompletionRecord> completionReport;   // any-sign merge
+        public final int unroutedArrivals;   // arrivals at a signId with no playlist
+
+        MultiSignResult(List<SignResult> signs, List<SampleProcessor.SlideCompletionRecord> completionReport,
+                        int unroutedArrivals) {
+            this.signs = signs;
+            this.completionReport = completionReport;
+            this.unroutedArrivals = unroutedArrivals;
+        }
+
+        public String toReport() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("=== MULTI-SIGN SIMULATION (").append(signs.size()).append(" signs) ===\n\n");
+
+            for (SignResult s : signs) {
+                sb.append(s.signName).append(" (sign ").append(s.signId).append("): ")
+                        .append(s.slides).append(" slides, ")
+                        .append(s.arrivals).append(" arrivals, ")
+                        .append(s.fullCount).append(" FULL / ")
+                        .append(s.partialCount).append(" PARTIAL\n");
+            }
+            if (unroutedArrivals > 0) {
+                sb.append(unroutedArrivals).append(" arrivals were at signs with no playlist and were skipped\n");
+            }
+
+            long full = completionReport.stream().filter(r -> r.fullySeen).count();
+            sb.append("\n=== COMPLETION REPORT (ANY SIGN) ===\n\n");
+            sb.append(full).append(" FULL / ").append(completionReport.size() - full).append(" PARTIAL\n\n");
+
+            for (SampleProcessor.SlideCompletionRecord r : completionReport) {
+                sb.append("Week ").append(r.weekNumber)
+                        .append(" — ").append(r.studentName)
+                        .append(" — ").append(r.slideName)
+                        .append(" — ").append(r.fullySeen ? "FULL" : "PARTIAL")
+                        .append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    private final SampleProcessor processor;
+
+    public MultiSignSimulation() {
+        processor = new SampleProcessor();
+        processor.setEngineMode(SampleProcessor.EngineMode.SKIP_AHEAD);
+        processor.setTraceLevel(SimulationTrace.Level.OFF);
+    }
+
+    /* =========================================================
+       Run
+       ========================================================= */
+    public MultiSignResult run(SimulationInputs inputs, List<Sign> signs, RandomGenerator random) {
+
+        List<SampleProcessor.ArrivalEvent> arrivals = processor.drawArrivalsAllSigns(inputs, random);
+        if (arrivals == null) throw new IllegalArgumentException("Config can't produce arrivals");
+
+        // Route arrivals to their sign, keeping admission order within each.
+        Map<Integer, Integer> signIndexById = new HashMap<>();
+        for (int i = 0; i < signs.size(); i++) signIndexById.putIfAbsent(signs.get(i).signId, i);
+
+        List<Queue<SampleProcessor.ArrivalEvent>> queues = new ArrayList<>();
+        for (int i = 0; i < signs.size(); i++) queues.add(new ArrayDeque<>());
+
+        int unrouted = 0;
+        for (SampleProcessor.ArrivalEvent a : arrivals) {
+            Integer s = signIndexById.get(a.getSignId());
+            if (s == null) unrouted++;
+            else queues.get(s).add(a);
+        }
+
+        // Global slide ids across all signs; names from the first sign that has the slide.
+        Map<Integer, Integer> globalBySlideId = new LinkedHashMap<>();
+        List<String> globalNames = new ArrayList<>();
+        int[][] localToGlobal = new int[signs.size()][];
+        for (int i = 0; i < signs.size(); i++) {
+            SlideTimeline t = signs.get(i).timeline;
+            localToGlobal[i] = new int[t.size()];
+            for (int k = 0; k < t.size(); k++) {
+                ColumbiaSignUI.SlideDef def = t.getSlide(k);
+                Integer g = globalBySlideId.get(def.getSlideId());
+                if (g == null) {
+                    g = globalNames.size();
+                    globalBySlideId.put(def.getSlideId(), g);
+                    globalNames.add(def.getSlideName());
+                }
+                localToGlobal[i][k] = g;
+            }
+        }
+
+        if ((long) inputs.getStudents().size() * globalNames.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many students x slides across signs");
+        }
+
+        int[] sizes = new int[signs.size()];
+        for (int i = 0; i < signs.size(); i++) sizes[i] = queues.get(i).size();
+
+        List<SignRun> runs = IntStream.range(0, signs.size())
+                .parallel()
+                .mapToObj(i -> runSign(inputs, signs.get(i), queues.get(i), localToGlobal[i],
+                        globalNames.size()))
+                .collect(Collectors.toList());
+
+        // Any-sign merge: 1 = shown, 2 = FULL; higher wins.
+        int weeks = Math.max(0, inputs.getWeeksToSimulate());
+        int students = inputs.getStudents().size();
+        int slides = globalNames.size();
+        byte[][] status = new byte[weeks][];
+
+        List<SignResult> signResults = new ArrayList<>();
+        for (int i = 0; i < signs.size(); i++) {
+            SignRun run = runs.get(i);
+            for (int k = 0; k < run.count; k++) {
+                long packed = run.cells[k];
+                int week = (int) (packed >>> 40);
+                int cell = (int) ((packed >>> 1) & 0x7FFFFFFFFL);
+                byte value = (byte) ((packed & 1) == 1 ? 2 : 1);
+                if (status[week] == null) status[week] = new byte[students * slides];
+                if (status[week][cell] < value) status[week][cell] = value;
+            }
+            Sign s = signs.get(i);
+            signResults.add(new SignResult(s.signId, s.signName, s.timeline.size(), sizes[i],
+                    run.full, run.partial));
+        }
+
+        return new MultiSignResult(signResults,
+                mergedReport(status, inputs.getStudents(), globalBySlideId, globalNames), unrouted);
+    }
+
+    /* =========================================================
+       One sign
+
+       Completion records are packed into a long[] as
+       (week-1) << 40 | cell << 1 | full, with cell =
+       student * globalSlides + globalSlide, so the merge never
+       touches record objects or string keys.
+       ========================================================= */
+    private static final class SignRun {
+        long[] cells = new long[1024];
+        int count;
+        long full;
+        long partial;
+
+        void add(long packed) {
+            if (count == cells.length) cells = Arrays.copyOf(cells, count * 2);
+            cells[count++] = packed;
+        }
+    }
+
+    private SignRun runSign(SimulationInputs inputs, Sign sign, Queue<SampleProcessor.ArrivalEvent> queue,
+                            int[] localToGlobal, int globalSlides) {
+
+        SignRun run = new SignRun();
+        SlideTimeline timeline = sign.timeline;
+
+        processor.runOnTimeline(inputs, timeline, queue, new SimulationListener() {
+            @Override
+            public void onCompletion(SampleProcessor.SlideCompletionRecord r) {
+                if (r.studentIndex < 0 || r.slideIndex < 0) return;
+
+                long cell = (long) r.studentIndex * globalSlides + localToGlobal[r.slideIndex];
+                run.add(((long) (r.weekNumber - 1) << 40) | (cell << 1) | (r.fullySeen ? 1 : 0));
+
+                if (r.fullySeen) run.full++;
+                else run.partial++;
+            }
+        });
+
+        return run;
+    }
+
+    /*
+       Same ordering as the single-sign report: week, then student
+       name, then slide name.
+    */
+    private static List<SampleProcessor.SlideCompletionRecord> mergedReport(
+            byte[][] status,
+            List<ColumbiaSignUI.StudentDef> students,
+            Map<Integer, Integer> globalBySlideId,
+            List<String> globalNames) {
+
+        int slides = globalNames.size();
+        int[] slideIds = new int[slides];
+        for (Map.Entry<Integer, Integer> e : globalBySlideId.entrySet()) slideIds[e.getValue()] = e.getKey();
+
+        Comparator<String> byName = Comparator.nullsFirst(Comparator.naturalOrder());
+
+        Integer[] studentOrder = new Integer[students.size()];
+        for (int i = 0; i < studentOrder.length; i++) studentOrder[i] = i;
+        Arrays.sort(studentOrder, (a, b) ->
+                byName.compare(students.get(a).getStudentName(), students.get(b).getStudentName()));
+
+        Integer[] slideOrder = new Integer[slides];
+        for (int i = 0; i < slides; i++) slideOrder[i] = i;
+        Arrays.sort(slideOrder, (a, b) -> byName.compare(globalNames.get(a), globalNames.get(b)));
+
+        List<SampleProcessor.SlideCompletionRecord> out = new ArrayList<>();
+        for (int w = 0; w < status.length; w++) {
+            byte[] row = status[w];
+            if (row == null) continue;
+
+            for (int student : studentOrder) {
+                for (int slide : slideOrder) {
+                    byte v = row[student * slides + slide];
+                    if (v == 0) continue;
+
+                    ColumbiaSignUI.StudentDef who = students.get(student);
+                    SampleProcessor.SlideCompletionRecord record = new SampleProcessor.SlideCompletionRecord(
+                            w + 1, who.getStudentId(), who.getStudentName(),
+                            slideIds[slide], globalNames.get(slide), v == 2);
+                    record.studentIndex = student;
+                    out.add(record);
+                }
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,205 @@
+// FILE: src/ParameterSweep.java
+// Purpose: Runs every combination of visibleMeanSec / visibleStdDevSec / arrivalRandomMinutes /
+// per-slide durationSeconds values in parallel against one in-memory copy of the inputs.
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ParameterSweep {
+
+    /* =========================================================
+       Dimensions
+
+       Each dimension is a list of values to try. An empty list
+       means "leave it as loaded" and doesn't multiply the grid.
+       Slide durations are one dimension per slideId.
+       ========================================================= */
+    private List<Double> visibleMeanValues = new ArrayList<>();
+    private List<Double> visibleStdDevValues = new ArrayList<>();
+    private List<Integer> arrivalRandomMinuteValues = new ArrayList<>();
+    private final Map<Integer, List<Integer>> durationValuesBySlideId = new LinkedHashMap<>();
+
+    // Replications per combination. Every combination uses the same
+    // seeds, so differences between rows come from the parameters,
+    // not from a lucky draw.
+    private int replicationsPerCombination = 1;
+
+    private final SampleProcessor processor;
+
+    public ParameterSweep() {
+        processor = new SampleProcessor();
+        processor.setEngineMode(SampleProcessor.EngineMode.SKIP_AHEAD);
+        processor.setTraceLevel(SimulationTrace.Level.OFF);
+    }
+
+    public void setVisibleMeanValues(List<Double> values) { visibleMeanValues = copyOf(values); }
+    public void setVisibleStdDevValues(List<Double> values) { visibleStdDevValues = copyOf(values); }
+    public void setArrivalRandomMinuteValues(List<Integer> values) { arrivalRandomMinuteValues = copyOf(values); }
+
+    public void setSlideDurationValues(int slideId, List<Integer> values) {
+        if (values == null || values.isEmpty()) durationValuesBySlideId.remove(slideId);
+        else durationValuesBySlideId.put(slideId, new ArrayList<>(values));
+    }
+
+    public void setReplicationsPerCombination(int n) { replicationsPerCombination = Math.max(1, n); }
+
+    /** Number of rows run() will produce. */
+    public long getCombinationCount() {
+        long n = Math.max(1, visibleMeanValues.size())
+                * (long) Math.max(1, visibleStdDevValues.size())
+                * Math.max(1, arrivalRandomMinuteValues.size());
+        for (List<Integer> v : durationValuesBySlideId.values()) n *= v.size();
+        return n;
+    }
+
+    /* =========================================================
+       Range helpers
+
+       Inclusive on both ends: range(20, 60, 10) → 20,30,40,50,60.
+       ========================================================= */
+    public static List<Double> range(double from, double to, double step) {
+        if (step <= 0) throw new IllegalArgumentException("step must be > 0");
+        List<Double> out = new ArrayList<>();
+        // small epsilon so 0.1-style steps still hit the upper bound
+        for (int i = 0; from + i * step <= to + step * 1e-9; i++) {
+            out.add(Math.round((from + i * step) * 1e9) / 1e9);   // 0.30000000000000004 → 0.3
+        }
+        return out;
+    }
+
+    public static List<Integer> range(int from, int to, int step) {
+        if (step <= 0) throw new IllegalArgumentException("step must be > 0");
+        List<Integer> out = new ArrayList<>();
+        for (int v = from; v <= to; v += step) out.add(v);
+        return out;
+    }
+
+    /* =========================================================
+       Result row
+       ========================================================= */
+    public static class SweepRow {
+        public final double visibleMeanSec;
+        public final double visibleStdDevSec;
+        public final int arrivalRandomMinutes;
+        public final Map<Integer, Integer> durationBySlideId;
+
+        public final double fullCount;       // mean over replications
+        public final double partialCount;    // mean over replications
+        public final double fullRate;        // FULL / (weeks x students x slides)
+
+        SweepRow(double visibleMeanSec, double visibleStdDevSec, int arrivalRandomMinutes,
+                 Map<Integer, Integer> durationBySlideId,
+                 double fullCount, double partialCount, double fullRate) {
+            this.visibleMeanSec = visibleMeanSec;
+            this.visibleStdDevSec = visibleStdDevSec;
+            this.arrivalRandomMinutes = arrivalRandomMinutes;
+            this.durationBySlideId = durationBySlideId;
+            this.fullCount = fullCount;
+            this.partialCount = partialCount;
+            this.fullRate = fullRate;
+        }
+
+        public String describeDurations() {
+            if (durationBySlideId.isEmpty()) return "(as loaded)";
+            return durationBySlideId.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue() + "s")
+                    .collect(Collectors.joining(", "));
+        }
+    }
+
+    /* =========================================================
+       Run
+
+       Combination i is decoded from its index (mixed radix over
+       the dimensions), so the grid never has to be materialised
+       and the rows come back in a stable order.
+       ========================================================= */
+    public List<SweepRow> run(SimulationInputs base, long seed) {
+
+        List<Integer> slideIds = new ArrayList<>(durationValuesBySlideId.keySet());
+        long count = getCombinationCount();
+
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many combinations: " + count);
+        }
+
+        return IntStream.range(0, (int) count)
+                .parallel()
+                .mapToObj(i -> runCombination(base, seed, slideIds, i))
+                .collect(Collectors.toList());
+    }
+
+    private SweepRow runCombination(SimulationInputs base, long seed, List<Integer> slideIds, int index) {
+
+        int rest = index;
+
+        Double mean = null;
+        if (!visibleMeanValues.isEmpty()) {
+            mean = visibleMeanValues.get(rest % visibleMeanValues.size());
+            rest /= visibleMeanValues.size();
+        }
+
+        Double std = null;
+        if (!visibleStdDevValues.isEmpty()) {
+            std = visibleStdDevValues.get(rest % visibleStdDevValues.size());
+            rest /= visibleStdDevValues.size();
+        }
+
+        Integer arrival = null;
+        if (!arrivalRandomMinuteValues.isEmpty()) {
+            arrival = arrivalRandomMinuteValues.get(rest % arrivalRandomMinuteValues.size());
+            rest /= arrivalRandomMinuteValues.size();
+        }
+
+        Map<Integer, Integer> durations = new LinkedHashMap<>();
+        for (int slideId : slideIds) {
+            List<Integer> values = durationValuesBySlideId.get(slideId);
+            durations.put(slideId, values.get(rest % values.size()));
+            rest /= values.size();
+        }
+
+        SimulationInputs inputs = base.withOverrides(mean, std, arrival, durations);
+
+        SplittableRandom root = new SplittableRandom(seed);
+        long[] fullAndPartial = new long[2];
+
+        // Only the completion records matter here, so count them as they stream by.
+        SimulationListener counter = new SimulationListener() {
+            @Override
+            public void onCompletion(SampleProcessor.SlideCompletionRecord rec) {
+                fullAndPartial[rec.fullySeen ? 0 : 1]++;
+            }
+        };
+
+        for (int r = 0; r < replicationsPerCombination; r++) {
+            processor.runSimulation(inputs, root.split(), counter);
+        }
+
+        long full = fullAndPartial[0];
+        long partial = fullAndPartial[1];
+
+        double reps = replicationsPerCombination;
+        double opportunities = (double) Math.max(0, inputs.getWeeksToSimulate())
+                * inputs.getStudents().size()
+                * inputs.getTimeline().size();
+
+        return new SweepRow(
+                inputs.getVisibleMeanSec(),
+                inputs.getVisibleStdDevSec(),
+                inputs.getArrivalRandomMinutes(),
+                durations,
+                full / reps,
+                partial / reps,
+                opportunities == 0 ? 0 : (full / reps) / opportunities
+        );
+    }
+
+    private static <T> List<T> copyOf(List<T> values) {
+        return values == null ? new ArrayList<>() : new ArrayList<>(values);
+    }
+}
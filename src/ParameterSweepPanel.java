@@ -0,0 +1,227 @@
+// FILE: src/ParameterSweepPanel.java
+// Purpose: "Sweep" tab — type value grids/ranges for the tuning knobs, run every combination
+// in the background, and get one table row per combination with its completion metrics.
+
+import javax.swing.*;
+import javax.swing.border.TitledBorder;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParameterSweepPanel extends JPanel {
+
+    /* ===============================
+       Inputs
+
+       Each field takes either a list ("30, 45, 60"),
+       a range ("20..60/10" = 20 to 60 step 10),
+       a single value, or blank to keep the loaded value.
+       =============================== */
+    private final JTextField txtVisibleMean = new JTextField("30..90/15");
+    private final JTextField txtVisibleStd = new JTextField();
+    private final JTextField txtArrivalRandom = new JTextField();
+    private final JTextArea txtSlideDurations = new JTextArea(3, 20);
+    private final JSpinner spnReplications = new JSpinner(new SpinnerNumberModel(1, 1, 1000, 1));
+    private final JTextField txtSeed = new JTextField("42");
+    private final JButton btnRunSweep = new JButton("Run Sweep");
+    private final JLabel lblSweepStatus = new JLabel("Ready");
+
+    private final SweepTableModel tableModel = new SweepTableModel();
+
+    public ParameterSweepPanel() {
+        super(new BorderLayout(8, 8));
+        setBorder(new TitledBorder("Parameter Sweep"));
+
+        add(buildInputs(), BorderLayout.NORTH);
+
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        add(lblSweepStatus, BorderLayout.SOUTH);
+
+        btnRunSweep.addActionListener(e -> runSweep());
+    }
+
+    private JPanel buildInputs() {
+        JPanel panel = new JPanel(new GridBagLayout());
+
+        GridBagConstraints gc = new GridBagConstraints();
+        gc.insets = new Insets(4, 4, 4, 4);
+        gc.fill = GridBagConstraints.HORIZONTAL;
+
+        int row = 0;
+        row = addRow(panel, gc, row, "Visible Mean (sec):", txtVisibleMean);
+        row = addRow(panel, gc, row, "Visible StdDev (sec):", txtVisibleStd);
+        row = addRow(panel, gc, row, "Arrival ± (min):", txtArrivalRandom);
+
+        txtSlideDurations.setToolTipText("One line per slide: slideId: values   e.g.  27: 10, 15, 20");
+        row = addRow(panel, gc, row, "Slide durations:", new JScrollPane(txtSlideDurations));
+
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        bottom.add(new JLabel("Replications:"));
+        bottom.add(spnReplications);
+        bottom.add(new JLabel("Seed:"));
+        txtSeed.setColumns(8);
+        bottom.add(txtSeed);
+        bottom.add(btnRunSweep);
+
+        gc.gridx = 0; gc.gridy = row; gc.gridwidth = 2; gc.weightx = 1;
+        panel.add(bottom, gc);
+
+        return panel;
+    }
+
+    private int addRow(JPanel panel, GridBagConstraints gc, int row, String label, JComponent field) {
+        gc.gridx = 0; gc.gridy = row; gc.gridwidth = 1; gc.weightx = 0;
+        panel.add(new JLabel(label), gc);
+        gc.gridx = 1; gc.gridy = row; gc.weightx = 1;
+        panel.add(field, gc);
+        return row + 1;
+    }
+
+    /* ===============================
+       Run
+
+       Parse on the EDT (so bad input gets a dialog right away),
+       load the JSON once, then sweep on a background worker.
+       =============================== */
+    private void runSweep() {
+
+        ParameterSweep sweep = new ParameterSweep();
+        long seed;
+
+        try {
+            sweep.setVisibleMeanValues(parseDoubles(txtVisibleMean.getText()));
+            sweep.setVisibleStdDevValues(parseDoubles(txtVisibleStd.getText()));
+            sweep.setArrivalRandomMinuteValues(parseInts(txtArrivalRandom.getText()));
+
+            for (String line : txtSlideDurations.getText().split("\\R")) {
+                if (line.trim().isEmpty()) continue;
+                int colon = line.indexOf(':');
+                if (colon < 0) throw new IllegalArgumentException("Expected \"slideId: values\" but got \"" + line.trim() + "\"");
+                int slideId = Integer.parseInt(line.substring(0, colon).trim());
+                sweep.setSlideDurationValues(slideId, parseInts(line.substring(colon + 1)));
+            }
+
+            sweep.setReplicationsPerCombination((Integer) spnReplications.getValue());
+            seed = Long.parseLong(txtSeed.getText().trim());
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Sweep", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        long combos = sweep.getCombinationCount();
+        btnRunSweep.setEnabled(false);
+        lblSweepStatus.setText("Running " + combos + " combination" + (combos == 1 ? "" : "s") + "...");
+
+        new SwingWorker<List<ParameterSweep.SweepRow>, Void>() {
+            long started;
+
+            @Override
+            protected List<ParameterSweep.SweepRow> doInBackground() {
+                started = System.currentTimeMillis();
+                SimulationInputs inputs = new SampleProcessor().loadInputs();
+                if (inputs == null) {
+                    throw new IllegalStateException("Could not load config/slides/students JSON");
+                }
+                return sweep.run(inputs, seed);
+            }
+
+            @Override
+            protected void done() {
+                btnRunSweep.setEnabled(true);
+                try {
+                    List<ParameterSweep.SweepRow> rows = get();
+                    tableModel.setRows(rows);
+                    lblSweepStatus.setText("Sweep complete: " + rows.size() + " rows in "
+                            + (System.currentTimeMillis() - started) + " ms");
+                } catch (Exception ex) {
+                    Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                    lblSweepStatus.setText("Sweep failed: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    /* ===============================
+       Value parsing
+       =============================== */
+    static List<Double> parseDoubles(String text) {
+        List<Double> out = new ArrayList<>();
+        String t = (text == null) ? "" : text.trim();
+        if (t.isEmpty()) return out;
+
+        if (t.contains("..")) {
+            String[] fromTo = t.split("\\.\\.", 2);
+            String[] toStep = fromTo[1].split("/", 2);
+            double step = (toStep.length > 1) ? Double.parseDouble(toStep[1].trim()) : 1.0;
+            return ParameterSweep.range(Double.parseDouble(fromTo[0].trim()), Double.parseDouble(toStep[0].trim()), step);
+        }
+
+        for (String part : t.split(",")) {
+            if (!part.trim().isEmpty()) out.add(Double.parseDouble(part.trim()));
+        }
+        return out;
+    }
+
+    static List<Integer> parseInts(String text) {
+        List<Integer> out = new ArrayList<>();
+        String t = (text == null) ? "" : text.trim();
+        if (t.isEmpty()) return out;
+
+        if (t.contains("..")) {
+            String[] fromTo = t.split("\\.\\.", 2);
+            String[] toStep = fromTo[1].split("/", 2);
+            int step = (toStep.length > 1) ? Integer.parseInt(toStep[1].trim()) : 1;
+            return ParameterSweep.range(Integer.parseInt(fromTo[0].trim()), Integer.parseInt(toStep[0].trim()), step);
+        }
+
+        for (String part : t.split(",")) {
+            if (!part.trim().isEmpty()) out.add(Integer.parseInt(part.trim()));
+        }
+        return out;
+    }
+
+    /* ===============================
+       Results table
+       =============================== */
+    private static class SweepTableModel extends AbstractTableModel {
+        private final String[] cols = {"Mean (s)", "StdDev (s)", "Arrival ±", "Durations", "FULL", "PARTIAL", "FULL rate"};
+        private List<ParameterSweep.SweepRow> rows = new ArrayList<>();
+
+        void setRows(List<ParameterSweep.SweepRow> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override public int getRowCount() { return rows.size(); }
+        @Override public int getColumnCount() { return cols.length; }
+        @Override public String getColumnName(int column) { return cols[column]; }
+
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            switch (columnIndex) {
+                case 2: return Integer.class;
+                case 3: return String.class;
+                default: return Double.class;
+            }
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            ParameterSweep.SweepRow r = rows.get(rowIndex);
+            switch (columnIndex) {
+                case 0: return r.visibleMeanSec;
+                case 1: return r.visibleStdDevSec;
+                case 2: return r.arrivalRandomMinutes;
+                case 3: return r.describeDurations();
+                case 4: return r.fullCount;
+                case 5: return r.partialCount;
+                case 6: return r.fullRate;
+                default: return "";
+            }
+        }
+    }
+}
@@ -0,0 +1,505 @@
+// FILE: src/PlaylistOptimizer.java
+// Purpose: Searches slide orderings and bounded duration changes for the playlist that gets the
+// most FULL completions, using parallel simulated annealing over a fixed set of arrival samples.
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PlaylistOptimizer {
+
+    /* =========================================================
+       Knobs
+
+       samples            — arrival draws every candidate is scored
+                            against (same viewers for every playlist,
+                            so score differences come from the
+                            playlist, not from the draw)
+       chains             — independent annealing chains, run in
+                            parallel; the best one wins
+       iterationsPerChain — candidate moves per chain
+       maxDurationChangeSec / minDurationSec
+                          — each slide may move this far from its
+                            loaded duration, never below the minimum
+       preserveCycleLength — duration moves shift seconds from one
+                            slide to another, so the loop stays the
+                            same length (otherwise "make everything
+                            1 s" trivially wins)
+       ========================================================= */
+    private int samples = 4;
+    private int chains = Math.max(2, ForkJoinPool.commonPool().getParallelism());
+    private int iterationsPerChain = 20_000;
+    private int maxDurationChangeSec = 5;
+    private int minDurationSec = 1;
+    private boolean preserveCycleLength = true;
+    private boolean optimizeOrder = true;
+    private boolean optimizeDurations = true;
+
+    // Start accepting a move that loses ~0.5% of the baseline's FULLs
+    // with probability 1/e, cooling geometrically to near-greedy.
+    private static final double START_TEMPERATURE_FRACTION = 0.005;
+    private static final double END_TEMPERATURE = 0.05;
+
+    private final SampleProcessor processor;
+
+    public PlaylistOptimizer() {
+        processor = new SampleProcessor();
+        processor.setEngineMode(SampleProcessor.EngineMode.SKIP_AHEAD);
+        processor.setTraceLevel(SimulationTrace.Level.OFF);
+    }
+
+    public void setSamples(int samples) { this.samples = Math.max(1, samples); }
+    public void setChains(int chains) { this.chains = Math.max(1, chains); }
+    public void setIterationsPerChain(int iterations) { this.iterationsPerChain = Math.max(0, iterations); }
+    public void setMaxDurationChangeSec(int seconds) { this.maxDurationChangeSec = Math.max(0, seconds); }
+    public void setMinDurationSec(int seconds) { this.minDurationSec = Math.max(0, seconds); }
+    public void setPreserveCycleLength(boolean preserve) { this.preserveCycleLength = preserve; }
+    public void setOptimizeOrder(boolean optimizeOrder) { this.optimizeOrder = optimizeOrder; }
+    public void setOptimizeDurations(boolean optimizeDurations) { this.optimizeDurations = optimizeDurations; }
+
+    /* =========================================================
+       Result
+       ========================================================= */
+    public static class OptimizationResult {
+        public final double baselineFull;     // mean FULL completions per run, as loaded
+        public final double bestFull;         // mean FULL completions per run, best found
+        public final List<ColumbiaSignUI.SlideDef> bestPlaylist;   // slideOrder renumbered 1..n
+        public final long evaluations;
+        public final int chains;              // chains actually run (see chainsThatFit)
+        public final long elapsedMs;
+
+        OptimizationResult(double baselineFull, double bestFull, List<ColumbiaSignUI.SlideDef> bestPlaylist,
+                           long evaluations, int chains, long elapsedMs) {
+            this.baselineFull = baselineFull;
+            this.bestFull = bestFull;
+            this.bestPlaylist = bestPlaylist;
+            this.evaluations = evaluations;
+            this.chains = chains;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public double getLift() { return bestFull - baselineFull; }
+
+        public double getLiftPercent() {
+            return baselineFull == 0 ? 0 : 100.0 * (bestFull - baselineFull) / baselineFull;
+        }
+
+        public String toReport() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("=== PLAYLIST OPTIMIZER ===\n\n");
+            sb.append(String.format("Baseline FULL per run: %.2f%n", baselineFull));
+            sb.append(String.format("Best FULL per run:     %.2f%n", bestFull));
+            sb.append(String.format("Lift:                  %+.2f (%+.2f%%)%n", getLift(), getLiftPercent()));
+            sb.append(String.format("Evaluated %d playlists on %d chains in %d ms (%.0f/s)%n%n",
+                    evaluations, chains, elapsedMs, elapsedMs == 0 ? 0.0 : evaluations * 1000.0 / elapsedMs));
+
+            sb.append("--- Best playlist ---\n");
+            for (ColumbiaSignUI.SlideDef s : bestPlaylist) {
+                sb.append(s.getSlideOrder()).append(". ")
+                        .append(s.getSlideName()).append(" (ID: ").append(s.getSlideId()).append(") ")
+                        .append(s.getDurationSeconds()).append("s\n");
+            }
+            return sb.toString();
+        }
+    }
+
+    /* =========================================================
+       Entry point
+
+       Streams split from one SplittableRandom: first the arrival
+       samples, then one per chain — same seed, same answer.
+       ========================================================= */
+    public OptimizationResult run(SimulationInputs inputs, long seed) {
+
+        long started = System.currentTimeMillis();
+        SplittableRandom root = new SplittableRandom(seed);
+
+        List<List<SampleProcessor.ArrivalEvent>> draws = new ArrayList<>();
+        for (int i = 0; i < samples; i++) {
+            List<SampleProcessor.ArrivalEvent> arrivals = processor.drawArrivals(inputs, root.split());
+            if (arrivals == null) throw new IllegalArgumentException("Config can't produce arrivals");
+            draws.add(arrivals);
+        }
+
+        ArrivalSamples data = new ArrivalSamples(inputs, draws);
+        Candidate base = Candidate.asLoaded(inputs.getTimeline());
+        int chainCount = chainsThatFit(data, base.order.length);
+        long baseScore = new Evaluator(data, base.order.length).score(base);
+
+        SplittableRandom[] streams = new SplittableRandom[chains];
+        for (int i = 0; i < chains; i++) streams[i] = root.split();
+
+        List<ChainResult> results = IntStream.range(0, chainCount)
+                .parallel()
+                .mapToObj(c -> anneal(data, base, baseScore, streams[c]))
+                .collect(Collectors.toList());
+
+        // Highest score wins; ties go to the lower chain so the pick is stable.
+        ChainResult best = results.stream()
+                .max(Comparator.comparingLong((ChainResult r) -> r.score))
+                .orElseThrow();
+        if (best.score < baseScore) best = new ChainResult(base, baseScore, 0);
+
+        long evaluations = 1;
+        for (ChainResult r : results) evaluations += r.evaluations;
+
+        return new OptimizationResult(
+                baseScore / (double) samples,
+                best.score / (double) samples,
+                best.candidate.toPlaylist(inputs.getTimeline()),
+                evaluations,
+                chainCount,
+                System.currentTimeMillis() - started);
+    }
+
+    /* =========================================================
+       Memory
+
+       Every chain scores with its own Evaluator, and an Evaluator
+       is three int arrays of weeks x students x slides cells —
+       12 bytes a cell, so 52 weeks x 3000 students x 20 slides is
+       about 37 MB per chain. Chains run at once, so the count is
+       cut back to what fits in half the heap that's still free;
+       if not even one fits, the run is refused up front rather
+       than dying halfway with an OutOfMemoryError.
+
+       Streams are still split for every configured chain, so a
+       smaller heap runs a prefix of the same chains.
+       ========================================================= */
+    private int chainsThatFit(ArrivalSamples data, int slideCount) {
+        long perChain = Evaluator.bytesFor(data, slideCount);
+        Runtime rt = Runtime.getRuntime();
+        long free = rt.maxMemory() - (rt.totalMemory() - rt.freeMemory());
+        long fit = (perChain == 0) ? chains : (free / 2) / perChain;
+        if (fit < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Scoring needs about %d MB per chain (weeks x students x slides = %d cells); "
+                            + "only %d MB of heap is free",
+                    perChain >> 20, perChain / Evaluator.BYTES_PER_CELL, free >> 20));
+        }
+        return (int) Math.min(chains, fit);
+    }
+
+    /* =========================================================
+       One annealing chain
+
+       Moves, each undone in place if rejected:
+         swap      — exchange two playlist positions
+         shift     — move seconds from one slide to another
+                     (or nudge one slide when the cycle may change)
+       ========================================================= */
+    private static final class ChainResult {
+        final Candidate candidate;
+        final long score;
+        final long evaluations;
+
+        ChainResult(Candidate candidate, long score, long evaluations) {
+            this.candidate = candidate;
+            this.score = score;
+            this.evaluations = evaluations;
+        }
+    }
+
+    private ChainResult anneal(ArrivalSamples data, Candidate base, long baseScore, SplittableRandom rnd) {
+
+        Evaluator evaluator = new Evaluator(data, base.order.length);
+        Candidate current = base.copy();
+        long currentScore = baseScore;
+        Candidate best = current.copy();
+        long bestScore = currentScore;
+        long evaluations = 0;
+
+        int n = current.order.length;
+        boolean canSwap = optimizeOrder && n > 1;
+        boolean canShift = optimizeDurations && maxDurationChangeSec > 0 && (n > 1 || !preserveCycleLength);
+        if (!canSwap && !canShift) return new ChainResult(best, bestScore, 0);
+
+        int[] lo = new int[n];
+        int[] hi = new int[n];
+        for (int i = 0; i < n; i++) {
+            int d = base.duration[i];
+            lo[i] = Math.min(d, Math.max(minDurationSec, d - maxDurationChangeSec));
+            hi[i] = d + maxDurationChangeSec;
+        }
+
+        double t0 = Math.max(END_TEMPERATURE, baseScore * START_TEMPERATURE_FRACTION);
+        double cooling = (iterationsPerChain > 1) ? Math.pow(END_TEMPERATURE / t0, 1.0 / (iterationsPerChain - 1)) : 1;
+        double temperature = t0;
+
+        for (int it = 0; it < iterationsPerChain; it++, temperature *= cooling) {
+
+            boolean swap = canSwap && (!canShift || rnd.nextBoolean());
+            int a, b, amount = 0;
+
+            if (swap) {
+                a = rnd.nextInt(n);
+                b = rnd.nextInt(n - 1);
+                if (b >= a) b++;
+                current.swap(a, b);
+            } else {
+                a = rnd.nextInt(n);
+                amount = 1 + rnd.nextInt(maxDurationChangeSec);
+                if (preserveCycleLength) {
+                    b = rnd.nextInt(n - 1);
+                    if (b >= a) b++;
+                    if (current.duration[a] + amount > hi[a] || current.duration[b] - amount < lo[b]) continue;
+                    current.duration[a] += amount;
+                    current.duration[b] -= amount;
+                } else {
+                    b = -1;
+                    if (rnd.nextBoolean()) amount = -amount;
+                    int d = current.duration[a] + amount;
+                    if (d < lo[a] || d > hi[a]) continue;
+                    current.duration[a] = d;
+                    if (current.cycleLength() == 0) {
+                        current.duration[a] -= amount;
+                        continue;
+                    }
+                }
+            }
+
+            long score = evaluator.score(current);
+            evaluations++;
+            long delta = score - currentScore;
+
+            if (delta >= 0 || rnd.nextDouble() < Math.exp(delta / temperature)) {
+                currentScore = score;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = current.copy();
+                }
+            } else if (swap) {
+                current.swap(a, b);
+            } else {
+                current.duration[a] -= amount;
+                if (b >= 0) current.duration[b] += amount;
+            }
+        }
+
+        return new ChainResult(best, bestScore, evaluations);
+    }
+
+    /* =========================================================
+       Candidate playlist
+
+       order[p]    — which loaded slide (timeline position as
+                     loaded) plays at position p
+       duration[s] — seconds for loaded slide s
+       ========================================================= */
+    private static final class Candidate {
+        final int[] order;
+        final int[] duration;
+
+        Candidate(int[] order, int[] duration) {
+            this.order = order;
+            this.duration = duration;
+        }
+
+        static Candidate asLoaded(SlideTimeline timeline) {
+            int n = timeline.size();
+            int[] order = new int[n];
+            int[] duration = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+                duration[i] = timeline.getDuration(i);
+            }
+            return new Candidate(order, duration);
+        }
+
+        Candidate copy() {
+            return new Candidate(order.clone(), duration.clone());
+        }
+
+        void swap(int a, int b) {
+            int t = order[a];
+            order[a] = order[b];
+            order[b] = t;
+        }
+
+        long cycleLength() {
+            long c = 0;
+            for (int d : duration) c += d;
+            return c;
+        }
+
+        List<ColumbiaSignUI.SlideDef> toPlaylist(SlideTimeline timeline) {
+            List<ColumbiaSignUI.SlideDef> out = new ArrayList<>();
+            for (int p = 0; p < order.length; p++) {
+                ColumbiaSignUI.SlideDef s = timeline.getSlide(order[p]);
+                ColumbiaSignUI.SlideDef copy = new ColumbiaSignUI.SlideDef(
+                        s.getSlideId(), p + 1, s.getSlideName(), duration[order[p]], s.getImagePath());
+                copy.setRotationDegrees(s.getRotationDegrees());
+                out.add(copy);
+            }
+            return out;
+        }
+    }
+
+    /* =========================================================
+       Arrival samples, packed
+
+       Only what scoring needs, as flat arrays: arrival second,
+       visibility, and the (week, student) row each arrival's
+       exposure lands in. Shared read-only by every chain.
+       ========================================================= */
+    private static final class ArrivalSamples {
+        final long[][] absoluteSeconds;
+        final int[][] visibility;
+        final int[][] row;          // (week - 1) * students + studentIndex
+        final int rows;
+        final long simulationEnd;
+
+        ArrivalSamples(SimulationInputs inputs, List<List<SampleProcessor.ArrivalEvent>> draws) {
+            int students = inputs.getStudents().size();
+            rows = Math.max(0, inputs.getWeeksToSimulate()) * students;
+            simulationEnd = inputs.getSimulationEndSeconds();
+
+            absoluteSeconds = new long[draws.size()][];
+            visibility = new int[draws.size()][];
+            row = new int[draws.size()][];
+
+            for (int s = 0; s < draws.size(); s++) {
+                List<SampleProcessor.ArrivalEvent> d = draws.get(s);
+                absoluteSeconds[s] = new long[d.size()];
+                visibility[s] = new int[d.size()];
+                row[s] = new int[d.size()];
+                for (int i = 0; i < d.size(); i++) {
+                    SampleProcessor.ArrivalEvent a = d.get(i);
+                    absoluteSeconds[s][i] = a.getAbsoluteSeconds();
+                    visibility[s][i] = a.getVisibilitySeconds();
+                    row[s][i] = (a.getWeekNumber() - 1) * students + a.getStudentIndex();
+                }
+            }
+        }
+    }
+
+    /* =========================================================
+       Scoring — the hot path
+
+       Total FULL completions over all samples, computed the way
+       the engine does it: each viewer is picked up at the first
+       boundary at or after their arrival and sees
+       min(duration, remaining) of consecutive slides; a
+       (week, student, slide) cell is FULL once its summed seconds
+       reach the slide's duration.
+
+       No per-candidate allocation: cells are reset lazily with an
+       epoch stamp and only the touched ones are counted.
+       ========================================================= */
+    private static final class Evaluator {
+        static final int BYTES_PER_CELL = 3 * Integer.BYTES;
+
+        private final ArrivalSamples data;
+        private final int n;
+        private final int[] seconds;      // (row * n + loaded slide) → seconds seen
+        private final int[] stamp;        // epoch a cell was last reset in
+        private final int[] touched;
+        private int epoch;
+
+        private final long[] offsets;     // by position; offsets[n] == cycle length
+        private final int[] durationAt;   // by position
+
+        static long bytesFor(ArrivalSamples data, int slideCount) {
+            return (long) data.rows * slideCount * BYTES_PER_CELL;
+        }
+
+        Evaluator(ArrivalSamples data, int slideCount) {
+            long cells = (long) data.rows * slideCount;
+            if (cells > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many weeks x students x slides to score: " + cells);
+            }
+            this.data = data;
+            this.n = slideCount;
+            this.seconds = new int[(int) cells];
+            this.stamp = new int[(int) cells];
+            this.touched = new int[(int) cells];
+            this.offsets = new long[slideCount + 1];
+            this.durationAt = new int[slideCount];
+        }
+
+        long score(Candidate c) {
+
+            for (int p = 0; p < n; p++) {
+                durationAt[p] = c.duration[c.order[p]];
+                offsets[p + 1] = offsets[p] + durationAt[p];
+            }
+            long cycle = offsets[n];
+            long end = data.simulationEnd;
+
+            // What the ring shows first back at the top of the loop: a
+            // zero-length slide at the end, if any (SlideTimeline.indexAtBoundary).
+            int wrap = lowerBound(cycle);
+            if (wrap == n) wrap = 0;
+
+            long full = 0;
+
+            for (int s = 0; s < data.absoluteSeconds.length; s++) {
+
+                if (++epoch == Integer.MAX_VALUE) {
+                    Arrays.fill(stamp, 0);
+                    epoch = 1;
+                }
+                int touchedCount = 0;
+
+                long[] abs = data.absoluteSeconds[s];
+                int[] vis = data.visibility[s];
+                int[] row = data.row[s];
+
+                for (int i = 0; i < abs.length; i++) {
+
+                    // first boundary at or after the arrival (SlideTimeline.boundaryAtOrAfter);
+                    // always-on sign — a config calendar isn't applied when scoring orderings
+                    long phase = Math.floorMod(abs[i], cycle);
+                    int p = lowerBound(phase);
+                    long t = abs[i] - phase + offsets[p];
+                    if (p == n) p = 0;
+                    else if (phase == 0 && abs[i] != 0) p = wrap;
+
+                    int remaining = vis[i];
+                    int base = row[i] * n;
+
+                    while (t < end) {
+                        int d = durationAt[p];
+                        int shown = Math.min(d, remaining);
+
+                        int cell = base + c.order[p];
+                        if (stamp[cell] != epoch) {
+                            stamp[cell] = epoch;
+                            seconds[cell] = 0;
+                            touched[touchedCount++] = cell;
+                        }
+                        seconds[cell] += shown;
+
+                        remaining -= shown;
+                        if (remaining <= 0) break;
+                        t += d;
+                        if (++p == n) p = 0;
+                    }
+                }
+
+                for (int k = 0; k < touchedCount; k++) {
+                    int cell = touched[k];
+                    if (seconds[cell] >= c.duration[cell % n]) full++;
+                }
+            }
+
+            return full;
+        }
+
+        // first position whose start is >= phase (n if none)
+        private int lowerBound(long phase) {
+            int lo = 0, hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (offsets[mid] < phase) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+// FILE: src/ReportWriter.java
+// Purpose: The run report as a stream — the classic text layout, CSV or NDJSON — written straight
+// into a Writer or a file as the engine (or a replay) emits, so a report never sits in memory whole.
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+public final class ReportWriter implements SimulationListener, Closeable {
+
+    /* =========================================================
+       Formats
+
+       TEXT   — the same text runAndReturnReport returns (it uses
+                this): "=== PLAYBACK EVENTS ===", one line per
+                slide hit, then "=== COMPLETION REPORT ===", one
+                line per record. Same layout as the original report
+                but not byte for byte:
+                  - completions go by numeric week, then student
+                    name, then slide name; the original sorted one
+                    "week|student|slide" string, so week 10 came
+                    before week 2
+                  - the day is the name of the day simulated
+                    (SimTime.dayName); the original echoed the
+                    JSON's day text, whatever its spelling
+       CSV    — one table, header first; the type column says
+                which kind of row it is (playback / completion) and
+                the columns that don't apply are left empty.
+       NDJSON — one JSON object per line with a "type" field.
+                Playback lines carry the same fields as the HTTP
+                service's /runs/{id}/events.
+
+       How it writes
+
+       Every piece goes into one char buffer of BUFFER_CHARS —
+       numbers as digits, names copied in, escaping done in place —
+       and the buffer goes to the Writer whenever it fills. No line
+       is ever built as a String. open() puts the Writer straight
+       on a FileChannel with a FILE_BUFFER_BYTES encoder buffer.
+
+       Lines go out as they arrive, so as a listener this keeps
+       nothing; onFinished flushes (it doesn't close — the owner
+       of the Writer does, or close() here for open()).
+       ========================================================= */
+    public enum Format {
+        TEXT,
+        CSV,
+        NDJSON;
+
+        /** By extension: .csv is CSV, .ndjson / .jsonl is NDJSON, anything else TEXT. */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return NDJSON;
+            return TEXT;
+        }
+    }
+
+    static final int BUFFER_CHARS = 1 << 16;
+    static final int FILE_BUFFER_BYTES = 1 << 20;
+
+    private static final String CSV_HEADER =
+            "type,week,day,arrival,studentId,student,slideId,slide,slideStart,seconds,fullySeen\n";
+
+    private final Writer out;
+    private final Format format;
+    private final char[] buffer = new char[BUFFER_CHARS];
+    private int length;
+    private boolean completionHeaderWritten;
+
+    public ReportWriter(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+
+        switch (format) {
+            case TEXT -> text("=== PLAYBACK EVENTS ===\n\n");
+            case CSV -> text(CSV_HEADER);
+            case NDJSON -> { }
+        }
+    }
+
+    /** A report file (created or truncated), in the given format. */
+    public static ReportWriter open(Path file, Format format) throws IOException {
+        // Same replacement behaviour as OutputStreamWriter for odd characters in names.
+        CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new ReportWriter(Channels.newWriter(channel, utf8, FILE_BUFFER_BYTES), format);
+    }
+
+    public Format getFormat() { return format; }
+
+    /* =========================================================
+       SimulationListener
+       ========================================================= */
+    @Override
+    public void onSlideShown(SampleProcessor.PlaybackEvent e) {
+        switch (format) {
+            case TEXT -> {
+                text("Week ");
+                number(e.weekNumber);
+                text(" ");
+                text(SimTime.dayName(e.dayOrdinal));
+                text(" ");
+                minuteOfDay(e.arrivalMinute);
+                text(" — ");
+                text(e.studentName);
+                text(" saw \"");
+                text(e.slideName);
+                text("\" for ");
+                number(e.secondsToDisplay);
+                text("s\n");
+            }
+            case CSV -> {
+                text("playback,");
+                number(e.weekNumber);
+                text(",");
+                csv(SimTime.dayName(e.dayOrdinal));
+                text(",");
+                minuteOfDay(e.arrivalMinute);
+                text(",,");
+                csv(e.studentName);
+                text(",");
+                number(e.slideId);
+                text(",");
+                csv(e.slideName);
+                text(",");
+                number(e.slideStartSeconds);
+                text(",");
+                number(e.secondsToDisplay);
+                text(",\n");
+            }
+            case NDJSON -> {
+                text("{\"type\":\"playback\",\"week\":");
+                number(e.weekNumber);
+                text(",\"student\":");
+                json(e.studentName);
+                text(",\"day\":");
+                json(SimTime.dayName(e.dayOrdinal));
+                text(",\"arrival\":\"");
+                minuteOfDay(e.arrivalMinute);
+                text("\",\"slideId\":");
+                number(e.slideId);
+                text(",\"slide\":");
+                json(e.slideName);
+                text(",\"slideStart\":");
+                number(e.slideStartSeconds);
+                text(",\"seconds\":");
+                number(e.secondsToDisplay);
+                text("}\n");
+            }
+        }
+    }
+
+    @Override
+    public void onCompletion(SampleProcessor.SlideCompletionRecord r) {
+        switch (format) {
+            case TEXT -> {
+                writeCompletionHeader();
+                text("Week ");
+                number(r.weekNumber);
+                text(" — ");
+                text(r.studentName);
+                text(" — ");
+                text(r.slideName);
+                text(r.fullySeen ? " — FULL\n" : " — PARTIAL\n");
+            }
+            case CSV -> {
+                text("completion,");
+                number(r.weekNumber);
+                text(",,,");
+                number(r.studentId);
+                text(",");
+                csv(r.studentName);
+                text(",");
+                number(r.slideId);
+                text(",");
+                csv(r.slideName);
+                text(",,,");
+                text(r.fullySeen ? "true\n" : "false\n");
+            }
+            case NDJSON -> {
+                text("{\"type\":\"completion\",\"week\":");
+                number(r.weekNumber);
+                text(",\"studentId\":");
+                number(r.studentId);
+                text(",\"student\":");
+                json(r.studentName);
+                text(",\"slideId\":");
+                number(r.slideId);
+                text(",\"slide\":");
+                json(r.slideName);
+                text(r.fullySeen ? ",\"fullySeen\":true}\n" : ",\"fullySeen\":false}\n");
+            }
+        }
+    }
+
+    @Override
+    public void onFinished() {
+        if (format == Format.TEXT) writeCompletionHeader();
+        flush();
+    }
+
+    private void writeCompletionHeader() {
+        if (completionHeaderWritten) return;
+        completionHeaderWritten = true;
+        text("\n=== COMPLETION REPORT ===\n\n");
+    }
+
+    /* =========================================================
+       Buffer
+       ========================================================= */
+
+    /** Pushes the buffer through to the Writer and flushes it. */
+    public void flush() {
+        drain();
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void drain() {
+        if (length == 0) return;
+        try {
+            out.write(buffer, 0, length);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        length = 0;
+    }
+
+    private void room(int chars) {
+        if (length + chars > buffer.length) drain();
+    }
+
+    private void put(char c) {
+        if (length == buffer.length) drain();
+        buffer[length++] = c;
+    }
+
+    private void text(String s) {
+        if (s == null) s = "null";
+        int n = s.length();
+        int from = 0;
+
+        // Longer than the whole buffer only for absurd names; go in slices.
+        while (n - from > buffer.length - length) {
+            int take = buffer.length - length;
+            s.getChars(from, from + take, buffer, length);
+            length += take;
+            from += take;
+            drain();
+        }
+
+        s.getChars(from, n, buffer, length);
+        length += n - from;
+    }
+
+    private void number(long value) {
+        if (value == Long.MIN_VALUE) {
+            text(Long.toString(value));
+            return;
+        }
+
+        room(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+
+        int end = length + digits;
+        for (int i = end - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length = end;
+    }
+
+    // "HH:mm", as SimTime.formatMinuteOfDay.
+    private void minuteOfDay(int minute) {
+        room(5);
+        int h = minute / 60;
+        int m = minute % 60;
+        buffer[length++] = (char) ('0' + h / 10);
+        buffer[length++] = (char) ('0' + h % 10);
+        buffer[length++] = ':';
+        buffer[length++] = (char) ('0' + m / 10);
+        buffer[length++] = (char) ('0' + m % 10);
+    }
+
+    // RFC 4180: quoted (with "" for ") only when it has to be.
+    private void csv(String s) {
+        if (s == null) return;
+
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            text(s);
+            return;
+        }
+
+        put('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') put('"');
+            put(c);
+        }
+        put('"');
+    }
+
+    private void json(String s) {
+        if (s == null) {
+            text("null");
+            return;
+        }
+
+        put('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> { put('\\'); put('"'); }
+                case '\\' -> { put('\\'); put('\\'); }
+                case '\n' -> { put('\\'); put('n'); }
+                case '\r' -> { put('\\'); put('r'); }
+                case '\t' -> { put('\\'); put('t'); }
+                default -> {
+                    if (c < 0x20) {
+                        text("\\u");
+                        put(Character.forDigit((c >> 12) & 0xF, 16));
+                        put(Character.forDigit((c >> 8) & 0xF, 16));
+                        put(Character.forDigit((c >> 4) & 0xF, 16));
+                        put(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        put(c);
+                    }
+                }
+            }
+        }
+        put('"');
+    }
+}
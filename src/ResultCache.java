@@ -0,0 +1,279 @@
+// FILE: src/ResultCache.java
+// Purpose: Remembers seeded simulation results by a hash of what went into them, in memory (LRU)
+// and on disk (one ResultStore file per run), so re-running identical inputs is instant.
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public final class ResultCache {
+
+    /* =========================================================
+       The key
+
+       SHA-256 over:
+         ENGINE_VERSION  — bump whenever a change to the engine
+                           would change what a seed produces, or
+                           the ResultStore layout changes
+         seed
+         the parsed inputs, field by field: every config value,
+         the playlist in play order (id, name, duration) and the
+         roster in file order (id, name, every arrival's day,
+         time and sign)
+         the compiled calendar, if any (policy and every
+         powered-on interval)
+
+       Hashing the parsed values rather than the raw files means
+       whitespace or key order in the JSON doesn't matter, and
+       fields the engine never reads (image paths, rotation)
+       don't cause misses. Any edit that can change a result
+       changes the key, so stale entries are never looked up —
+       nothing has to be invalidated by hand. Old files just age
+       out of the disk tier.
+
+       Tiers
+         memory — last MEMORY_ENTRIES results, access-ordered
+         disk   — <dir>/<key>.rstore, at most DISK_ENTRIES files,
+                  oldest use (mtime) deleted first. Written to a
+                  temp file and moved into place, so a half-written
+                  store is never picked up. A disk hit is mapped,
+                  not parsed; its playback list is a view over the
+                  file.
+
+       Directory: -Dsim.cache.dir, default .simcache in the working
+       directory — where the UI reads its JSON files, but not
+       necessarily where HeadlessRunner's --config points. Only
+       seeded runs are cached — an unseeded run is supposed to
+       differ every time.
+       ========================================================= */
+    public static final int ENGINE_VERSION = 4;
+
+    private static final int MEMORY_ENTRIES = 4;
+    private static final int DISK_ENTRIES = 32;
+    private static final String SUFFIX = ".rstore";
+
+    private static volatile ResultCache shared;
+
+    private final Path directory;
+    private final Map<String, SampleProcessor.SimulationResult> memory;
+
+    public ResultCache(Path directory) {
+        this.directory = directory;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SampleProcessor.SimulationResult> eldest) {
+                return size() > MEMORY_ENTRIES;
+            }
+        };
+    }
+
+    public static ResultCache shared() {
+        ResultCache c = shared;
+        if (c == null) {
+            synchronized (ResultCache.class) {
+                c = shared;
+                if (c == null) {
+                    c = new ResultCache(Paths.get(System.getProperty("sim.cache.dir", ".simcache")));
+                    shared = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    public Path getDirectory() { return directory; }
+
+    /* =========================================================
+       Key
+       ========================================================= */
+    public static String key(SimulationInputs inputs, long seed) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(ENGINE_VERSION);
+            out.writeLong(seed);
+
+            out.writeUTF(String.valueOf(inputs.config.simulationStartTime));
+            out.writeInt(inputs.getArrivalRandomMinutes());
+            out.writeInt(inputs.getWeeksToSimulate());
+            out.writeInt(inputs.getSchoolDaysPerWeek());
+            out.writeDouble(inputs.getVisibleMeanSec());
+            out.writeDouble(inputs.getVisibleStdDevSec());
+
+            SimulationCalendar cal = inputs.getCalendar();
+            out.writeBoolean(cal != null);
+            if (cal != null) {
+                out.writeUTF(cal.getRotationPolicy().name());
+                out.writeInt(cal.getIntervalCount());
+                for (int i = 0; i < cal.getIntervalCount(); i++) {
+                    out.writeLong(cal.getIntervalStart(i));
+                    out.writeLong(cal.getIntervalEnd(i));
+                }
+            }
+
+            SlideTimeline t = inputs.getTimeline();
+            out.writeInt(t.size());
+            for (int i = 0; i < t.size(); i++) {
+                out.writeInt(t.getSlide(i).getSlideId());
+                out.writeUTF(String.valueOf(t.getSlide(i).getSlideName()));
+                out.writeInt(t.getDuration(i));
+            }
+
+            out.writeInt(inputs.getStudents().size());
+            for (ColumbiaSignUI.StudentDef s : inputs.getStudents()) {
+                out.writeInt(s.getStudentId());
+                out.writeUTF(String.valueOf(s.getStudentName()));
+                List<ColumbiaSignUI.ArrivalDef> arrivals = s.getArrivals();
+                out.writeInt(arrivals == null ? -1 : arrivals.size());
+                if (arrivals == null) continue;
+                for (ColumbiaSignUI.ArrivalDef a : arrivals) {
+                    out.writeUTF(String.valueOf(a.getDay()));
+                    out.writeUTF(String.valueOf(a.getTime()));
+                    out.writeInt(a.getSignId());
+                }
+            }
+            out.flush();
+
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray()));
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Cannot hash simulation inputs: " + ex.getMessage(), ex);
+        }
+    }
+
+    /* =========================================================
+       Lookups
+       ========================================================= */
+
+    /** Cached result for this key, or null. Disk hits are promoted to memory. */
+    public SampleProcessor.SimulationResult get(String key, SimulationInputs inputs) {
+
+        synchronized (memory) {
+            SampleProcessor.SimulationResult hit = memory.get(key);
+            if (hit != null) return hit;
+        }
+
+        Path file = directory.resolve(key + SUFFIX);
+        if (!Files.isRegularFile(file)) return null;
+
+        try (ResultStore.Reader store = ResultStore.open(file)) {
+            SampleProcessor.SimulationResult result = fromStore(store, inputs);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            synchronized (memory) {
+                memory.put(key, result);
+            }
+            return result;
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Ignoring unreadable cache entry " + file + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /** Keeps the result in memory and writes it to disk (disk failures are only logged). */
+    public void put(String key, SimulationInputs inputs, SampleProcessor.SimulationResult result) {
+
+        synchronized (memory) {
+            memory.put(key, result);
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+
+            try (ResultStore.Writer writer = ResultStore.create(temp, inputs.getStudents())) {
+                for (SampleProcessor.PlaybackEvent e : result.playbackEvents) writer.onSlideShown(e);
+                for (SampleProcessor.SlideCompletionRecord r : result.completionReport) writer.onCompletion(r);
+                writer.onFinished();
+            }
+
+            Files.move(temp, directory.resolve(key + SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+
+            trimDisk();
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Cannot write cache entry " + key + ": " + ex.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    public void clearMemory() {
+        synchronized (memory) {
+            memory.clear();
+        }
+    }
+
+    private void trimDisk() throws IOException {
+
+        List<Path> files;
+        try (Stream<Path> s = Files.list(directory)) {
+            files = new ArrayList<>(s.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList());
+        }
+        if (files.size() <= DISK_ENTRIES) return;
+
+        Map<Path, Long> touched = new HashMap<>();
+        for (Path p : files) touched.put(p, Files.getLastModifiedTime(p).toMillis());
+        files.sort((a, b) -> Long.compare(touched.get(a), touched.get(b)));
+
+        for (int i = 0; i < files.size() - DISK_ENTRIES; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /* =========================================================
+       Disk entry -> SimulationResult
+
+       The mapped groups stay valid after the channel is closed,
+       so the playback list reads straight from the file. The
+       store keeps the roster and playlist positions alongside
+       studentId / slideId (ids can repeat), so rows come back
+       exactly as the engine emitted them.
+       ========================================================= */
+    private static SampleProcessor.SimulationResult fromStore(ResultStore.Reader store, SimulationInputs inputs) {
+
+        SlideTimeline timeline = inputs.getTimeline();
+
+        int playbackCount = Math.toIntExact(store.getPlaybackCount());
+
+        List<SampleProcessor.PlaybackEvent> playback = new AbstractList<>() {
+            @Override
+            public SampleProcessor.PlaybackEvent get(int i) {
+                if (i < 0 || i >= playbackCount) throw new IndexOutOfBoundsException(i);
+                return store.playbackEvent(i);
+            }
+
+            @Override
+            public int size() {
+                return playbackCount;
+            }
+        };
+
+        List<SampleProcessor.SlideCompletionRecord> completion =
+                new ArrayList<>(Math.toIntExact(store.getCompletionCount()));
+        for (long i = 0; i < store.getCompletionCount(); i++) completion.add(store.completion(i));
+
+        return new SampleProcessor.SimulationResult(playback, completion, timeline);
+    }
+}
@@ -0,0 +1,418 @@
+// FILE: src/ResultStore.java
+// Purpose: Compact columnar binary file for simulation results. Written sequentially through a
+// FileChannel while the engine runs, read back through FileChannel.map without parsing.
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class ResultStore {
+
+    /* =========================================================
+       File layout (little-endian)
+
+         header    int magic, int version, int rowsPerGroup
+
+         groups    row groups in write order. Each group holds one
+                   table's rows as whole columns back to back:
+                   col0[rows], col1[rows], ... (ints, then longs)
+
+         footer    int dictSize, dictSize x (int byteLen, UTF-8)
+                   per table: int groupCount,
+                              groupCount x (long offset, int rows)
+
+         trailer   long footerOffset, int magic
+
+       Tables and their columns:
+
+         PLAYBACK   week, studentId, studentName*, day*,
+                    arrivalSecondOfDay, slideId, slideName*,
+                    secondsToDisplay, studentIndex, slideIndex
+                    | absoluteSecond (long)
+         COMPLETION week, studentId, studentName*, slideId,
+                    slideName*, fullySeen (0/1), studentIndex,
+                    slideIndex
+
+       (* = index into the string dictionary, -1 for null.)
+       studentIndex / slideIndex are the roster / playlist
+       positions — ids can repeat, so that's what reads key on.
+       Older versions lack them and aren't read.
+
+       Every group except a table's last one is exactly
+       rowsPerGroup rows, so row i lives in group i / rowsPerGroup.
+       ========================================================= */
+    private static final int MAGIC = 0x43445352;   // "CDSR"
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 12;
+    private static final int TRAILER_BYTES = 12;
+
+    public static final int DEFAULT_ROWS_PER_GROUP = 1 << 16;
+
+    private static final int PLAYBACK = 0;
+    private static final int COMPLETION = 1;
+    private static final int TABLES = 2;
+
+    // int / long column counts per table
+    private static final int[] INT_COLUMNS = {10, 8};
+    private static final int[] LONG_COLUMNS = {1, 0};
+
+    private static int rowBytes(int table) {
+        return INT_COLUMNS[table] * 4 + LONG_COLUMNS[table] * 8;
+    }
+
+    private ResultStore() { }
+
+    public static Writer create(Path file, List<ColumbiaSignUI.StudentDef> students) throws IOException {
+        return new Writer(file, students, DEFAULT_ROWS_PER_GROUP);
+    }
+
+    public static Reader open(Path file) throws IOException {
+        return new Reader(file);
+    }
+
+    /* =========================================================
+       Writer
+
+       A SimulationListener: hand it to runSimulation and it
+       fills one column buffer per table, writes a group whenever
+       a buffer is full, and finishes the file on onFinished().
+
+       The roster maps PlaybackEvent.studentIndex back to the
+       studentId that gets stored.
+       ========================================================= */
+    public static final class Writer implements SimulationListener, Closeable {
+
+        private final FileChannel channel;
+        private final List<ColumbiaSignUI.StudentDef> students;
+        private final int rowsPerGroup;
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private final int[][][] ints = new int[TABLES][][];
+        private final long[][][] longs = new long[TABLES][][];
+        private final int[] rows = new int[TABLES];
+        private final List<List<long[]>> groups = new ArrayList<>();   // {offset, rows}
+
+        private final ByteBuffer groupBuffer;
+        private long position;
+        private boolean finished;
+
+        Writer(Path file, List<ColumbiaSignUI.StudentDef> students, int rowsPerGroup) throws IOException {
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.students = students;
+            this.rowsPerGroup = rowsPerGroup;
+
+            for (int t = 0; t < TABLES; t++) {
+                ints[t] = new int[INT_COLUMNS[t]][rowsPerGroup];
+                longs[t] = new long[LONG_COLUMNS[t]][rowsPerGroup];
+                groups.add(new ArrayList<>());
+            }
+
+            groupBuffer = ByteBuffer.allocateDirect(rowsPerGroup * Math.max(rowBytes(PLAYBACK), rowBytes(COMPLETION)))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rowsPerGroup).flip();
+            writeFully(header);
+        }
+
+        @Override
+        public void onSlideShown(SampleProcessor.PlaybackEvent e) {
+            int r = rows[PLAYBACK];
+            int[][] c = ints[PLAYBACK];
+
+            c[0][r] = e.weekNumber;
+            c[1][r] = (e.studentIndex >= 0 && e.studentIndex < students.size())
+                    ? students.get(e.studentIndex).getStudentId() : -1;
+            c[2][r] = intern(e.studentName);
+            c[3][r] = intern(e.getDay());
+            c[4][r] = e.arrivalMinute * 60;
+            c[5][r] = e.slideId;
+            c[6][r] = intern(e.slideName);
+            c[7][r] = e.secondsToDisplay;
+            c[8][r] = e.studentIndex;
+            c[9][r] = e.slideIndex;
+            longs[PLAYBACK][0][r] = e.slideStartSeconds;
+
+            if (++rows[PLAYBACK] == rowsPerGroup) flushGroup(PLAYBACK);
+        }
+
+        @Override
+        public void onCompletion(SampleProcessor.SlideCompletionRecord rec) {
+            int r = rows[COMPLETION];
+            int[][] c = ints[COMPLETION];
+
+            c[0][r] = rec.weekNumber;
+            c[1][r] = rec.studentId;
+            c[2][r] = intern(rec.studentName);
+            c[3][r] = rec.slideId;
+            c[4][r] = intern(rec.slideName);
+            c[5][r] = rec.fullySeen ? 1 : 0;
+            c[6][r] = rec.studentIndex;
+            c[7][r] = rec.slideIndex;
+
+            if (++rows[COMPLETION] == rowsPerGroup) flushGroup(COMPLETION);
+        }
+
+        @Override
+        public void onFinished() {
+            try {
+                finish();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot finish result store: " + ex.getMessage(), ex);
+            }
+        }
+
+        private int intern(String s) {
+            if (s == null) return -1;
+            Integer id = dictionary.get(s);
+            if (id == null) {
+                id = strings.size();
+                strings.add(s);
+                dictionary.put(s, id);
+            }
+            return id;
+        }
+
+        private void flushGroup(int table) {
+            int n = rows[table];
+            if (n == 0) return;
+
+            groupBuffer.clear();
+            for (int[] col : ints[table]) {
+                for (int i = 0; i < n; i++) groupBuffer.putInt(col[i]);
+            }
+            for (long[] col : longs[table]) {
+                for (int i = 0; i < n; i++) groupBuffer.putLong(col[i]);
+            }
+            groupBuffer.flip();
+
+            groups.get(table).add(new long[]{position, n});
+            try {
+                writeFully(groupBuffer);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot write result store: " + ex.getMessage(), ex);
+            }
+            rows[table] = 0;
+        }
+
+        private void finish() throws IOException {
+            if (finished) return;
+            finished = true;
+
+            for (int t = 0; t < TABLES; t++) flushGroup(t);
+
+            long footerOffset = position;
+
+            List<byte[]> encoded = new ArrayList<>(strings.size());
+            int footerBytes = 4;
+            for (String s : strings) {
+                byte[] b = s.getBytes(StandardCharsets.UTF_8);
+                encoded.add(b);
+                footerBytes += 4 + b.length;
+            }
+            for (int t = 0; t < TABLES; t++) footerBytes += 4 + groups.get(t).size() * 12;
+
+            ByteBuffer footer = ByteBuffer.allocate(footerBytes + TRAILER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            footer.putInt(encoded.size());
+            for (byte[] b : encoded) footer.putInt(b.length).put(b);
+            for (int t = 0; t < TABLES; t++) {
+                footer.putInt(groups.get(t).size());
+                for (long[] g : groups.get(t)) footer.putLong(g[0]).putInt((int) g[1]);
+            }
+            footer.putLong(footerOffset).putInt(MAGIC).flip();
+            writeFully(footer);
+
+            channel.close();
+        }
+
+        private void writeFully(ByteBuffer b) throws IOException {
+            while (b.hasRemaining()) position += channel.write(b);
+        }
+
+        /** Finishes the file if the run never reached onFinished(). */
+        @Override
+        public void close() throws IOException {
+            if (!finished) finish();
+        }
+    }
+
+    /* =========================================================
+       Reader
+
+       Opening reads the trailer and footer and maps every group
+       read-only; rows are then plain absolute reads out of the
+       page cache. Safe to share between threads.
+       ========================================================= */
+    public static final class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final int rowsPerGroup;
+        private final String[] dictionary;
+        private final MappedByteBuffer[][] groups = new MappedByteBuffer[TABLES][];
+        private final int[][] groupRows = new int[TABLES][];
+        private final long[] rowCounts = new long[TABLES];
+
+        Reader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                if (size < HEADER_BYTES + TRAILER_BYTES) throw new IOException("Not a result store: " + file);
+
+                ByteBuffer header = read(0, HEADER_BYTES);
+                if (header.getInt() != MAGIC) throw new IOException("Not a result store: " + file);
+                int version = header.getInt();
+                if (version != VERSION) throw new IOException("Unsupported result store version " + version);
+                rowsPerGroup = header.getInt();
+
+                ByteBuffer trailer = read(size - TRAILER_BYTES, TRAILER_BYTES);
+                long footerOffset = trailer.getLong();
+                if (trailer.getInt() != MAGIC) throw new IOException("Result store is incomplete: " + file);
+
+                ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        footerOffset, size - TRAILER_BYTES - footerOffset).order(ByteOrder.LITTLE_ENDIAN);
+
+                dictionary = new String[footer.getInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    byte[] b = new byte[footer.getInt()];
+                    footer.get(b);
+                    dictionary[i] = new String(b, StandardCharsets.UTF_8);
+                }
+
+                for (int t = 0; t < TABLES; t++) {
+                    int count = footer.getInt();
+                    groups[t] = new MappedByteBuffer[count];
+                    groupRows[t] = new int[count];
+                    for (int g = 0; g < count; g++) {
+                        long offset = footer.getLong();
+                        int n = footer.getInt();
+                        groups[t][g] = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) n * rowBytes(t));
+                        groups[t][g].order(ByteOrder.LITTLE_ENDIAN);
+                        groupRows[t][g] = n;
+                        rowCounts[t] += n;
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                channel.close();
+                throw ex;
+            }
+        }
+
+        private ByteBuffer read(long at, int n) throws IOException {
+            ByteBuffer b = ByteBuffer.allocate(n).order(ByteOrder.LITTLE_ENDIAN);
+            while (b.hasRemaining()) {
+                if (channel.read(b, at + b.position()) < 0) throw new IOException("Unexpected end of file");
+            }
+            b.flip();
+            return b;
+        }
+
+        public long getPlaybackCount() { return rowCounts[PLAYBACK]; }
+
+        public long getCompletionCount() { return rowCounts[COMPLETION]; }
+
+        /* ---------- column access ---------- */
+
+        private int intAt(int table, int column, long row) {
+            int g = (int) (row / rowsPerGroup);
+            int r = (int) (row % rowsPerGroup);
+            return groups[table][g].getInt((column * groupRows[table][g] + r) * 4);
+        }
+
+        private long longAt(int table, int column, long row) {
+            int g = (int) (row / rowsPerGroup);
+            int r = (int) (row % rowsPerGroup);
+            int n = groupRows[table][g];
+            return groups[table][g].getLong(INT_COLUMNS[table] * n * 4 + (column * n + r) * 8);
+        }
+
+        private String string(int id) {
+            return id < 0 ? null : dictionary[id];
+        }
+
+        public int playbackWeek(long row) { return intAt(PLAYBACK, 0, row); }
+        public int playbackStudentId(long row) { return intAt(PLAYBACK, 1, row); }
+        public String playbackStudentName(long row) { return string(intAt(PLAYBACK, 2, row)); }
+        public String playbackDay(long row) { return string(intAt(PLAYBACK, 3, row)); }
+        public int playbackSlideId(long row) { return intAt(PLAYBACK, 5, row); }
+        public String playbackSlideName(long row) { return string(intAt(PLAYBACK, 6, row)); }
+        public int playbackStudentIndex(long row) { return intAt(PLAYBACK, 8, row); }
+        public int playbackSlideIndex(long row) { return intAt(PLAYBACK, 9, row); }
+        public int playbackSeconds(long row) { return intAt(PLAYBACK, 7, row); }
+        public long playbackAbsoluteSecond(long row) { return longAt(PLAYBACK, 0, row); }
+
+        public LocalTime playbackArrivalTime(long row) {
+            int s = intAt(PLAYBACK, 4, row);
+            return s < 0 ? null : LocalTime.ofSecondOfDay(s);
+        }
+
+        public int completionWeek(long row) { return intAt(COMPLETION, 0, row); }
+        public int completionStudentId(long row) { return intAt(COMPLETION, 1, row); }
+        public String completionStudentName(long row) { return string(intAt(COMPLETION, 2, row)); }
+        public int completionSlideId(long row) { return intAt(COMPLETION, 3, row); }
+        public String completionSlideName(long row) { return string(intAt(COMPLETION, 4, row)); }
+        public boolean completionFullySeen(long row) { return intAt(COMPLETION, 5, row) != 0; }
+        public int completionStudentIndex(long row) { return intAt(COMPLETION, 6, row); }
+        public int completionSlideIndex(long row) { return intAt(COMPLETION, 7, row); }
+
+        /* ---------- rows as the engine's objects ---------- */
+
+        public SampleProcessor.PlaybackEvent playbackEvent(long row) {
+            int arrivalSecond = intAt(PLAYBACK, 4, row);
+            SampleProcessor.PlaybackEvent e = new SampleProcessor.PlaybackEvent(
+                    playbackWeek(row),
+                    playbackStudentName(row),
+                    SimTime.dayOrdinal(playbackDay(row)),
+                    arrivalSecond < 0 ? 0 : arrivalSecond / 60,
+                    playbackSlideId(row),
+                    playbackSlideName(row),
+                    playbackSeconds(row));
+            e.slideStartSeconds = playbackAbsoluteSecond(row);
+            e.studentIndex = playbackStudentIndex(row);
+            e.slideIndex = playbackSlideIndex(row);
+            return e;
+        }
+
+        public SampleProcessor.SlideCompletionRecord completion(long row) {
+            SampleProcessor.SlideCompletionRecord r = new SampleProcessor.SlideCompletionRecord(
+                    completionWeek(row),
+                    completionStudentId(row),
+                    completionStudentName(row),
+                    completionSlideId(row),
+                    completionSlideName(row),
+                    completionFullySeen(row));
+            r.studentIndex = completionStudentIndex(row);
+            r.slideIndex = completionSlideIndex(row);
+            return r;
+        }
+
+        /*
+           Feeds the stored run back through a listener in the
+           original order: playback, completions, onFinished.
+           Arrivals aren't stored, so onArrival never fires.
+        */
+        public void replay(SimulationListener listener) {
+            for (long i = 0; i < rowCounts[PLAYBACK]; i++) listener.onSlideShown(playbackEvent(i));
+            for (long i = 0; i < rowCounts[COMPLETION]; i++) listener.onCompletion(completion(i));
+            listener.onFinished();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -3,9 +3,14 @@
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 
 public class SampleConfig {
@@ -98,9 +103,15 @@ public class SampleConfig {
 
        Writes a fresh configData.json each time (overwrite).
        If this fails, we scream about it in stderr.
+
+       The UI has no calendar editor, so a "calendar" block that's
+       already in the file is carried over as-is instead of being
+       wiped by a save.
        ========================================================= */
     private static void writeConfigToJsonFile(ConfigFile payload, String filename) {
 
+        payload.calendar = readExistingCalendar(filename);
+
         try (FileWriter writer = new FileWriter(filename)) {
             gson.toJson(payload, writer);
             System.out.println("Wrote " + filename);
@@ -110,6 +121,17 @@ public class SampleConfig {
         }
     }
 
+    private static JsonElement readExistingCalendar(String filename) {
+        if (!Files.isRegularFile(Paths.get(filename))) return null;
+        try (FileReader reader = new FileReader(filename)) {
+            JsonObject existing = gson.fromJson(reader, JsonObject.class);
+            return (existing == null) ? null : existing.get("calendar");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not read calendar from " + filename + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     /* =========================================================
        JSON payload object
 
@@ -129,6 +151,7 @@ public class SampleConfig {
         double visibleMeanSec;
         double visibleStdDevSec;
         int defaultSlideSec;
+        JsonElement calendar;   // kept from the existing file, never edited here
 
         ConfigFile(
                 String simulationStartTime,
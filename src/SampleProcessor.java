@@ -1,118 +1,286 @@
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
 
 import java.io.FileReader;
-import java.time.Duration;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 public class SampleProcessor {
 
     private static final String CONFIG_JSON_FILE   = "configData.json";
     private static final String SLIDES_JSON_FILE   = "slidesData.json";
     private static final String STUDENTS_JSON_FILE = "studentData.json";
+    private static final String SIGNS_JSON_FILE    = "signsData.json";
 
-    private static final DateTimeFormatter TIME_FMT =
-            DateTimeFormatter.ofPattern("HH:mm");
-
-    private static final Map<String, Integer> DAY_INDEX = Map.of(
-            "Monday", 0,
-            "Tuesday", 1,
-            "Wednesday", 2,
-            "Thursday", 3,
-            "Friday", 4
-    );
+    // Arrivals without a signId (every file written before signs existed)
+    // are at the main sign, whose playlist is slidesData.json.
+    public static final int MAIN_SIGN_ID = 0;
 
     private final Gson gson = new GsonBuilder().create();
     private final Random rng = new Random();
 
+    // Where the JSON inputs are read from. The UI always uses the
+    // default names in the working directory; the headless runner
+    // points these wherever it's told to.
+    private Path configFile = Paths.get(CONFIG_JSON_FILE);
+    private Path slidesFile = Paths.get(SLIDES_JSON_FILE);
+    private Path studentsFile = Paths.get(STUDENTS_JSON_FILE);
+    private Path signsFile = Paths.get(SIGNS_JSON_FILE);
+
+    public void setInputFiles(Path configFile, Path slidesFile, Path studentsFile) {
+        this.configFile = configFile;
+        this.slidesFile = slidesFile;
+        this.studentsFile = studentsFile;
+    }
+
+    public void setSignsFile(Path signsFile) { this.signsFile = signsFile; }
+
+    public Path getConfigFile() { return configFile; }
+
+    public Path getSlidesFile() { return slidesFile; }
+
+    public Path getStudentsFile() { return studentsFile; }
+
+    // Where [CLOCK] / [ARRIVAL HIT] / [SLIDE HIT] / [SUMMARY] lines go and
+    // how many of them. Defaults come from -Dsim.trace.level / -Dsim.trace.file;
+    // batch callers (Monte Carlo, sweeps) set the level to OFF.
+    private SimulationTrace trace = SimulationTrace.shared();
+    private SimulationTrace.Level traceLevel = SimulationTrace.defaultLevel();
+
+    public SimulationTrace.Level getTraceLevel() { return traceLevel; }
+
+    public void setTraceLevel(SimulationTrace.Level traceLevel) { this.traceLevel = traceLevel; }
+
+    public SimulationTrace getTrace() { return trace; }
+
+    public void setTrace(SimulationTrace trace) { this.trace = trace; }
+
     /* ============================================================
-       CIRCULAR LINKED LIST NODE
+       SEED AND RESULT CACHE
+
+       With a seed set, every run starts from new Random(seed), so
+       the same inputs always give the same result, and the
+       whole-run entry points (runFullSimulation, runAndReturnReport,
+       writeReport, SimulationJob) go through the result cache
+       first. Without a seed, runs draw from this processor's own
+       Random as they always have and nothing is cached.
     ============================================================ */
+    private Long seed;
+    private ResultCache resultCache = ResultCache.shared();
 
-    private static class SlideNode {
-        ColumbiaSignUI.SlideDef slide;
-        SlideNode next;
+    public SampleProcessor() { }
 
-        SlideNode(ColumbiaSignUI.SlideDef slide) {
-            this.slide = slide;
-        }
+    public SampleProcessor(long seed) {
+        this.seed = seed;
+    }
+
+    public Long getSeed() { return seed; }
+
+    public void setSeed(Long seed) { this.seed = seed; }
+
+    public ResultCache getResultCache() { return resultCache; }
+
+    /** null turns caching off for this processor. */
+    public void setResultCache(ResultCache resultCache) { this.resultCache = resultCache; }
+
+    private RandomGenerator randomForRun() {
+        return (seed == null) ? rng : new Random(seed);
+    }
+
+    /* ============================================================
+       ENGINE MODES
+
+       TICK       — the original loop: walk the playlist one slide at a
+                    time across the whole horizon.
+       SKIP_AHEAD — same loop, but whenever nobody is watching we jump
+                    straight to the slide boundary where the next
+                    arrival gets picked up. Same SimulationResult,
+                    a tiny fraction of the loop iterations.
+       DAY_PARALLEL — cut the horizon into roughly one-day segments at
+                    quiet moments (nobody watching), run the
+                    segments on a ForkJoinPool with SKIP_AHEAD, and
+                    replay their output in order. Same
+                    SimulationResult; [CLOCK] trace lines are not
+                    written in this mode.
+       VIEWER_PARALLEL — no clock at all: each viewer's slides are
+                    worked out on their own straight from the
+                    playlist cycle, on the ForkJoinPool, and merged
+                    back into time order. Same SimulationResult; no
+                    [CLOCK] lines either.
+    ============================================================ */
+
+    public enum EngineMode {
+        TICK,
+        SKIP_AHEAD,
+        DAY_PARALLEL,
+        VIEWER_PARALLEL
+    }
+
+    private EngineMode engineMode = EngineMode.TICK;
+
+    public EngineMode getEngineMode() { return engineMode; }
+
+    public void setEngineMode(EngineMode engineMode) {
+        this.engineMode = (engineMode == null) ? EngineMode.TICK : engineMode;
     }
 
     /* ============================================================
        ARRIVAL QUEUE MODEL
+
+       Public so SimulationListener.onArrival can hand it out; the
+       fields stay package-private and listeners read the getters.
     ============================================================ */
 
-    private static class ArrivalEvent {
+    public static class ArrivalEvent {
         String studentName;
+        int studentIndex;     // dense roster position, used for exposure arrays
         int weekNumber;
-        String day;
-        LocalTime arrivalTime;
+        int dayOrdinal;       // SimTime day ordinal, 0 = Monday
+        int arrivalMinute;    // randomised wall-clock minute of day
         long absoluteSeconds;
-        int remainingVisibilitySeconds;
+        final int visibilitySeconds;      // as drawn; never changes
+        int remainingVisibilitySeconds;   // counts down while the viewer watches
+        long admittedAtSeconds = -1;      // slide boundary the engine picked them up at
+        int signId;                       // sign they walk past (MAIN_SIGN_ID = slidesData.json)
+        long phaseShift;                  // playlist phase of the powered-on interval they were admitted in
+        long cutAtSeconds = Long.MAX_VALUE;   // sign goes off here (calendar); MAX_VALUE = never
 
         ArrivalEvent(String studentName,
+                     int studentIndex,
                      int weekNumber,
-                     String day,
-                     LocalTime arrivalTime,
+                     int dayOrdinal,
+                     int arrivalMinute,
                      long absoluteSeconds,
                      int visibilitySeconds) {
 
             this.studentName = studentName;
+            this.studentIndex = studentIndex;
             this.weekNumber = weekNumber;
-            this.day = day;
-            this.arrivalTime = arrivalTime;
+            this.dayOrdinal = dayOrdinal;
+            this.arrivalMinute = arrivalMinute;
             this.absoluteSeconds = absoluteSeconds;
             this.remainingVisibilitySeconds = visibilitySeconds;
+            this.visibilitySeconds = visibilitySeconds;
         }
+
+        public String getStudentName() { return studentName; }
+        public int getStudentIndex() { return studentIndex; }
+        public int getWeekNumber() { return weekNumber; }
+        public int getDayOrdinal() { return dayOrdinal; }
+        public int getArrivalMinute() { return arrivalMinute; }
+        public String getDay() { return SimTime.dayName(dayOrdinal); }
+        public LocalTime getArrivalTime() { return SimTime.toLocalTime(arrivalMinute); }
+        public long getAbsoluteSeconds() { return absoluteSeconds; }
+        public int getVisibilitySeconds() { return visibilitySeconds; }
+        public long getAdmittedAtSeconds() { return admittedAtSeconds; }
+        public long getPhaseShift() { return phaseShift; }
+        public long getCutAtSeconds() { return cutAtSeconds; }
+        public int getSignId() { return signId; }
     }
 
     /* ============================================================
        RESULT MODELS
     ============================================================ */
 
+    /*
+       Day and arrival time are kept as ints (SimTime day ordinal,
+       minute of day); getDay() / getArrivalTime() / getArrivalTimeText()
+       turn them into text or java.time only when something is shown.
+    */
     public static class PlaybackEvent {
         public int weekNumber;
         public String studentName;
-        public String day;
-        public LocalTime arrivalTime;
+        public int dayOrdinal;
+        public int arrivalMinute;
         public int slideId;
         public String slideName;
         public int secondsToDisplay;
 
+        // Where this sits in the run: dense roster / playlist positions
+        // and the absolute second the slide came on screen.
+        public int studentIndex = -1;
+        public int slideIndex = -1;
+        public long slideStartSeconds;
+
         public PlaybackEvent(int weekNumber,
                              String studentName,
-                             String day,
-                             LocalTime arrivalTime,
+                             int dayOrdinal,
+                             int arrivalMinute,
                              int slideId,
                              String slideName,
                              int secondsToDisplay) {
 
             this.weekNumber = weekNumber;
             this.studentName = studentName;
-            this.day = day;
-            this.arrivalTime = arrivalTime;
+            this.dayOrdinal = dayOrdinal;
+            this.arrivalMinute = arrivalMinute;
             this.slideId = slideId;
             this.slideName = slideName;
             this.secondsToDisplay = secondsToDisplay;
         }
+
+        public PlaybackEvent(int weekNumber,
+                             String studentName,
+                             int studentIndex,
+                             int dayOrdinal,
+                             int arrivalMinute,
+                             int slideId,
+                             String slideName,
+                             int slideIndex,
+                             long slideStartSeconds,
+                             int secondsToDisplay) {
+
+            this(weekNumber, studentName, dayOrdinal, arrivalMinute, slideId, slideName, secondsToDisplay);
+            this.studentIndex = studentIndex;
+            this.slideIndex = slideIndex;
+            this.slideStartSeconds = slideStartSeconds;
+        }
+
+        public String getDay() { return SimTime.dayName(dayOrdinal); }
+
+        public LocalTime getArrivalTime() { return SimTime.toLocalTime(arrivalMinute); }
+
+        /** "HH:mm", without going through java.time. */
+        public String getArrivalTimeText() { return SimTime.formatMinuteOfDay(arrivalMinute); }
     }
 
     public static class SlideCompletionRecord {
         public int weekNumber;
+        public int studentId;
         public String studentName;
+        public int slideId;
         public String slideName;
         public boolean fullySeen;
 
+        // Dense roster / playlist positions, as on PlaybackEvent — neither
+        // studentIds nor slideIds need be unique, so tallies key on these.
+        // -1 when unknown (slideIndex also for merged multi-sign records).
+        public int studentIndex = -1;
+        public int slideIndex = -1;
+
         public SlideCompletionRecord(int weekNumber,
+                                     int studentId,
                                      String studentName,
+                                     int slideId,
                                      String slideName,
                                      boolean fullySeen) {
 
             this.weekNumber = weekNumber;
+            this.studentId = studentId;
             this.studentName = studentName;
+            this.slideId = slideId;
             this.slideName = slideName;
             this.fullySeen = fullySeen;
         }
@@ -122,24 +290,61 @@ public class SampleProcessor {
         public List<PlaybackEvent> playbackEvents;
         public List<SlideCompletionRecord> completionReport;
 
+        // The playlist the run was driven by (null for an empty result).
+        // Playback and analytics can use it to answer "what was on screen at t".
+        public SlideTimeline timeline;
+
         public SimulationResult(List<PlaybackEvent> playbackEvents,
                                 List<SlideCompletionRecord> completionReport) {
             this.playbackEvents = playbackEvents;
             this.completionReport = completionReport;
         }
+
+        // One record per viewer visit, when the run was kept that way
+        // (playbackEvents is then a lazy view over these). May be null.
+        public List<VisitRecord> visits;
+
+        public SimulationResult(List<PlaybackEvent> playbackEvents,
+                                List<SlideCompletionRecord> completionReport,
+                                SlideTimeline timeline) {
+            this(playbackEvents, completionReport);
+            this.timeline = timeline;
+        }
+
+        public SimulationResult(List<PlaybackEvent> playbackEvents,
+                                List<SlideCompletionRecord> completionReport,
+                                SlideTimeline timeline,
+                                List<VisitRecord> visits) {
+            this(playbackEvents, completionReport, timeline);
+            this.visits = visits;
+        }
     }
 
     /* ============================================================
        JSON STRUCTURES
     ============================================================ */
 
-    private static class ConfigFile {
+    // Package-private so SimulationInputs can carry a parsed copy around.
+    static class ConfigFile {
         String simulationStartTime;
         int arrivalRandomMinutes;
         int weeksToSimulate;
         int schoolDaysPerWeek;
         double visibleMeanSec;
         double visibleStdDevSec;
+        SimulationCalendar.CalendarConfig calendar;   // optional; see SimulationCalendar
+
+        ConfigFile copy() {
+            ConfigFile c = new ConfigFile();
+            c.simulationStartTime = simulationStartTime;
+            c.arrivalRandomMinutes = arrivalRandomMinutes;
+            c.weeksToSimulate = weeksToSimulate;
+            c.schoolDaysPerWeek = schoolDaysPerWeek;
+            c.visibleMeanSec = visibleMeanSec;
+            c.visibleStdDevSec = visibleStdDevSec;
+            c.calendar = (calendar == null) ? null : calendar.copy();
+            return c;
+        }
     }
 
     private static class SlidesFile {
@@ -150,196 +355,587 @@ public class SampleProcessor {
         List<ColumbiaSignUI.StudentDef> students;
     }
 
+    private static class SignsFile {
+        List<SignDef> signs;
+    }
+
+    private static class SignDef {
+        int signId;
+        String signName;
+        List<ColumbiaSignUI.SlideDef> slides;
+    }
+
     /* ============================================================
        ENTRY POINTS
     ============================================================ */
 
     public SimulationResult runFullSimulation() {
 
-        ConfigFile config = loadConfig();
-        List<ColumbiaSignUI.SlideDef> slides = loadSlides();
-        Queue<ArrivalEvent> queue = buildArrivalQueue(config);
+        SimulationInputs inputs = loadInputs();
 
-        if (config == null || slides == null || queue == null || slides.isEmpty()) {
+        if (inputs == null) {
             return new SimulationResult(
                     Collections.emptyList(),
                     Collections.emptyList()
             );
         }
 
-        SlideNode head = buildCircularSlideList(slides);
+        if (seed != null) return runCached(inputs, seed, null);
 
-        return runTimelineSimulation(config, head, queue, slides);
+        return runSimulation(inputs, rng);
     }
 
-    public String runAndReturnReport() {
-        SimulationResult result = runFullSimulation();
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("=== PLAYBACK EVENTS ===\n\n");
-
-        for (PlaybackEvent e : result.playbackEvents) {
-            sb.append(
-                    "Week " + e.weekNumber + " " +
-                            e.day + " " +
-                            e.arrivalTime.format(TIME_FMT) +
-                            " — " +
-                            e.studentName +
-                            " saw \"" +
-                            e.slideName +
-                            "\" for " +
-                            e.secondsToDisplay +
-                            "s\n"
+    /*
+       Seeded run through the result cache. On a miss the run also
+       streams through observer (may be null) and the result is
+       stored; on a hit observer sees nothing and the stored result
+       comes straight back.
+    */
+    public SimulationResult runCached(SimulationInputs inputs, long seed, SimulationListener observer) {
+
+        String key = (resultCache == null) ? null : ResultCache.key(inputs, seed);
+
+        if (key != null) {
+            SimulationResult hit = resultCache.get(key, inputs);
+            if (hit != null) return hit;
+        }
+
+        VisitCollector collector = new VisitCollector(inputs);
+        SimulationListener sink = (observer == null) ? collector : SimulationListener.all(collector, observer);
+
+        if (!runSimulation(inputs, new Random(seed), sink)) {
+            return new SimulationResult(
+                    Collections.emptyList(),
+                    Collections.emptyList()
             );
         }
 
-        sb.append("\n=== COMPLETION REPORT ===\n\n");
+        SimulationResult result = collector.toResult();
+        if (key != null) resultCache.put(key, inputs, result);
+        return result;
+    }
+
+    /*
+       Runs one simulation against inputs that were already loaded,
+       drawing all randomness from the given generator. Nothing here
+       touches processor state besides the engine settings, so one
+       processor can serve many threads as long as each brings its
+       own generator.
+    */
+    public SimulationResult runSimulation(SimulationInputs inputs, RandomGenerator random) {
 
-        for (SlideCompletionRecord r : result.completionReport) {
-            sb.append(
-                    "Week " + r.weekNumber +
-                            " — " + r.studentName +
-                            " — " + r.slideName +
-                            " — " +
-                            (r.fullySeen ? "FULL" : "PARTIAL") +
-                            "\n"
+        // Kept as visits; playbackEvents is expanded lazily as it's read.
+        VisitCollector collector = new VisitCollector(inputs);
+
+        if (!runSimulation(inputs, random, collector)) {
+            return new SimulationResult(
+                    Collections.emptyList(),
+                    Collections.emptyList()
             );
         }
 
-        return sb.toString();
+        return collector.toResult();
     }
 
-    /* ============================================================
-       TIME FORMATTER FOR CLOCK LOGGING
-    ============================================================ */
+    /*
+       Streaming version: events go to the listener as they happen and
+       nothing is kept here. Returns false if the arrival queue couldn't
+       be built (listener sees no events at all in that case).
+    */
+    public boolean runSimulation(SimulationInputs inputs,
+                                 RandomGenerator random,
+                                 SimulationListener listener) {
 
-    private String formatSimulationTime(long totalSeconds, int schoolDaysPerWeek) {
+        Queue<ArrivalEvent> queue =
+                buildArrivalQueue(inputs, random);
 
-        int secondsPerDay = 86400;
-        int secondsPerWeek = secondsPerDay * schoolDaysPerWeek;
+        if (queue == null) return false;
 
-        int week = (int)(totalSeconds / secondsPerWeek) + 1;
-        long remainderWeek = totalSeconds % secondsPerWeek;
+        runTimelineSimulation(inputs.config, inputs.getCalendar(), inputs.getTimeline(), queue,
+                inputs.getStudents(), listener);
+        return true;
+    }
 
-        int dayIndex = (int)(remainderWeek / secondsPerDay);
-        long remainderDay = remainderWeek % secondsPerDay;
+    /*
+       Just the arrival draw of one run, in admission order, with no
+       clock run behind it. Lets the playlist optimizer score many
+       playlists against the same viewers. Null if the config can't
+       be used.
+    */
+    List<ArrivalEvent> drawArrivals(SimulationInputs inputs, RandomGenerator random) {
 
-        int hours = (int)(remainderDay / 3600);
-        int minutes = (int)((remainderDay % 3600) / 60);
-        int seconds = (int)(remainderDay % 60);
+        Queue<ArrivalEvent> queue =
+                buildArrivalQueue(inputs, random);
 
-        return "Week " + week +
-                " DayIndex " + dayIndex +
-                String.format(" %02d:%02d:%02d", hours, minutes, seconds);
+        return (queue == null) ? null : new ArrayList<>(queue);
     }
 
     /* ============================================================
-       BUILD CIRCULAR LIST
+       MULTI-SIGN PLUMBING
+
+       drawArrivalsAllSigns — the same draw with every sign's
+                              arrivals kept (tagged with signId)
+       runOnTimeline        — plays a pre-built queue against one
+                              sign's playlist
+       loadSigns            — the main sign (slidesData.json) plus
+                              any signs in signsData.json
     ============================================================ */
 
-    private SlideNode buildCircularSlideList(List<ColumbiaSignUI.SlideDef> slides) {
+    List<ArrivalEvent> drawArrivalsAllSigns(SimulationInputs inputs, RandomGenerator random) {
 
-        slides.sort(Comparator.comparingInt(ColumbiaSignUI.SlideDef::getSlideOrder));
+        Queue<ArrivalEvent> queue =
+                buildArrivalQueue(inputs, random, true);
 
-        SlideNode head = new SlideNode(slides.get(0));
-        SlideNode current = head;
+        return (queue == null) ? null : new ArrayList<>(queue);
+    }
+
+    void runOnTimeline(SimulationInputs inputs,
+                       SlideTimeline timeline,
+                       Queue<ArrivalEvent> queue,
+                       SimulationListener listener) {
+        runTimelineSimulation(inputs.config, inputs.getCalendar(), timeline, queue, inputs.getStudents(), listener);
+    }
 
-        for (int i = 1; i < slides.size(); i++) {
-            current.next = new SlideNode(slides.get(i));
-            current = current.next;
+    public List<MultiSignSimulation.Sign> loadSigns(SimulationInputs inputs) {
+
+        List<MultiSignSimulation.Sign> signs = new ArrayList<>();
+        signs.add(new MultiSignSimulation.Sign(MAIN_SIGN_ID, "Main", inputs.getTimeline()));
+
+        List<SignDef> extra = loadSignDefs();
+        if (extra == null) return signs;
+
+        for (SignDef d : extra) {
+            if (d == null || d.signId == MAIN_SIGN_ID || d.slides == null || d.slides.isEmpty()) continue;
+            try {
+                signs.add(new MultiSignSimulation.Sign(d.signId,
+                        d.signName != null ? d.signName : "Sign " + d.signId,
+                        SlideTimeline.fromSlides(d.slides)));
+            } catch (IllegalArgumentException ex) {
+                System.err.println("Skipping sign " + d.signId + ": " + ex.getMessage());
+            }
         }
+        return signs;
+    }
 
-        current.next = head;
+    /*
+       Reads configData.json, slidesData.json and studentData.json once
+       (or whatever setInputFiles pointed at).
+       Returns null if any of them is missing, unreadable or unusable
+       (same "no result" rule the Run button has always had).
+    */
+    public SimulationInputs loadInputs() {
 
-        return head;
+        ConfigFile config = loadConfig();
+        List<ColumbiaSignUI.SlideDef> slides = loadSlides();
+        List<ColumbiaSignUI.StudentDef> students = loadStudents();
+
+        if (config == null || slides == null || students == null || slides.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return new SimulationInputs(config, SlideTimeline.fromSlides(slides), students);
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Cannot simulate: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /*
+       Same inputs, from JSON that's already in memory (the HTTP
+       service gets them inline). Each element has its file's shape:
+       configData.json, {"slides": [...]}, {"students": [...]}.
+       Unlike loadInputs this says what's wrong, as an
+       IllegalArgumentException.
+    */
+    public SimulationInputs parseInputs(JsonElement configData, JsonElement slidesData, JsonElement studentData) {
+
+        if (configData == null || slidesData == null || studentData == null) {
+            throw new IllegalArgumentException("configData, slidesData and studentData are all required");
+        }
+
+        ConfigFile config;
+        SlidesFile slides;
+        StudentFile students;
+        try {
+            config = gson.fromJson(configData, ConfigFile.class);
+            slides = gson.fromJson(slidesData, SlidesFile.class);
+            students = gson.fromJson(studentData, StudentFile.class);
+        } catch (JsonParseException ex) {
+            throw new IllegalArgumentException("Malformed input: " + ex.getMessage(), ex);
+        }
+
+        if (config == null) throw new IllegalArgumentException("configData is empty");
+        if (slides == null || slides.slides == null || slides.slides.isEmpty()) {
+            throw new IllegalArgumentException("slidesData has no slides");
+        }
+        if (students == null || students.students == null) {
+            throw new IllegalArgumentException("studentData has no students list");
+        }
+
+        // JSON nulls inside the lists get through Gson as null elements.
+        for (int i = 0; i < slides.slides.size(); i++) {
+            if (slides.slides.get(i) == null) throw new IllegalArgumentException("slides[" + i + "] is null");
+        }
+        for (int i = 0; i < students.students.size(); i++) {
+            ColumbiaSignUI.StudentDef s = students.students.get(i);
+            if (s == null) throw new IllegalArgumentException("students[" + i + "] is null");
+            if (s.getArrivals() == null) continue;
+            for (int k = 0; k < s.getArrivals().size(); k++) {
+                if (s.getArrivals().get(k) == null) {
+                    throw new IllegalArgumentException("students[" + i + "].arrivals[" + k + "] is null");
+                }
+            }
+        }
+
+        return new SimulationInputs(config, SlideTimeline.fromSlides(slides.slides), students.students);
+    }
+
+    /*
+       The whole text report as one String. Fine for small runs; for
+       anything big use writeReport, which streams to a file.
+    */
+    public String runAndReturnReport() {
+
+        StringWriter text = new StringWriter();
+        runReport(loadInputs(), new ReportWriter(text, ReportWriter.Format.TEXT));
+        return text.toString();
+    }
+
+    /*
+       Runs and streams the report straight into a file, in any of
+       the ReportWriter formats; nothing but the write buffers is
+       held. False if there was nothing to run or the file couldn't
+       be written (the reason goes to stderr).
+    */
+    public boolean writeReport(Path file, ReportWriter.Format format) {
+
+        try (ReportWriter report = ReportWriter.open(file, format)) {
+            return runReport(loadInputs(), report);
+        } catch (IOException | UncheckedIOException ex) {
+            System.err.println("Cannot write report " + file + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /*
+       Plays one run into a report sink: lines go out as the engine
+       produces them and no event list is kept. Seeded, the run goes
+       through the result cache and the (possibly cached) result is
+       replayed into the sink instead. False if there was nothing
+       to run (the sink still gets onFinished).
+    */
+    boolean runReport(SimulationInputs inputs, SimulationListener reportSink) {
+
+        if (inputs != null && seed != null) {
+            SimulationResult result = runCached(inputs, seed, null);
+            replay(result, reportSink);
+            return true;
+        }
+        if (inputs == null || !runSimulation(inputs, rng, reportSink)) {
+            reportSink.onFinished();
+            return false;
+        }
+        return true;
+    }
+
+    static void replay(SimulationResult result, SimulationListener sink) {
+        for (PlaybackEvent e : result.playbackEvents) sink.onSlideShown(e);
+        for (SlideCompletionRecord r : result.completionReport) sink.onCompletion(r);
+        sink.onFinished();
+    }
+
+    /*
+       Same report, but the run goes to a columnar result store on
+       disk first and the text is rendered back out of the mapped
+       file. The store stays behind for later analysis.
+    */
+    public String runAndReturnReport(Path storeFile) {
+
+        if (!runToStore(storeFile)) {
+            StringWriter text = new StringWriter();
+            new ReportWriter(text, ReportWriter.Format.TEXT).onFinished();
+            return text.toString();
+        }
+
+        try (ResultStore.Reader store = ResultStore.open(storeFile)) {
+            return renderReport(store);
+        } catch (IOException ex) {
+            System.err.println("Cannot read result store " + storeFile + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /** Runs the simulation straight into a ResultStore file. False if nothing could be written. */
+    public boolean runToStore(Path storeFile) {
+
+        SimulationInputs inputs = loadInputs();
+        if (inputs == null) return false;
+
+        try (ResultStore.Writer writer = ResultStore.create(storeFile, inputs.getStudents())) {
+            return runSimulation(inputs, randomForRun(), writer);
+        } catch (IOException | IllegalStateException ex) {
+            System.err.println("Cannot write result store " + storeFile + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    public String renderReport(ResultStore.Reader store) {
+        StringWriter text = new StringWriter();
+        store.replay(new ReportWriter(text, ReportWriter.Format.TEXT));
+        return text.toString();
     }
 
     /* ============================================================
        BUILD ARRIVAL QUEUE
+
+       Work is split into partitions of (week, block of students).
+       Each partition gets its own SplittableRandom, split in
+       partition order from one seed drawn off the caller's
+       generator, so the queue is the same however many threads
+       build it. Partitions are generated and sorted in parallel,
+       then merged: weeks don't overlap in absolute time, so
+       finished weeks are simply appended; the student blocks
+       inside a week (and any weeks that do overlap) go through a
+       k-way heap merge. Ties keep generation order
+       (week, student, arrival), same as the old global stable sort.
     ============================================================ */
 
-    private Queue<ArrivalEvent> buildArrivalQueue(ConfigFile config) {
+    private static final int STUDENTS_PER_PARTITION = 1024;
 
-        try (FileReader r = new FileReader(STUDENTS_JSON_FILE)) {
+    private Queue<ArrivalEvent> buildArrivalQueue(SimulationInputs inputs, RandomGenerator rng) {
+        return buildArrivalQueue(inputs, rng, false);
+    }
 
-            StudentFile data = gson.fromJson(r, StudentFile.class);
-            if (data == null || data.students == null) return null;
+    /*
+       allSigns = false keeps only arrivals at the main sign (the
+       single-playlist engine); the multi-sign run takes them all
+       and routes them by signId itself.
 
-            List<ArrivalEvent> temp = new ArrayList<>();
+       Arrivals come pre-parsed from the inputs (CompiledArrivals),
+       so from here on it's all int/long arithmetic.
+    */
+    private Queue<ArrivalEvent> buildArrivalQueue(SimulationInputs inputs,
+                                                  RandomGenerator rng,
+                                                  boolean allSigns) {
 
-            LocalTime simStart = LocalTime.parse(config.simulationStartTime, TIME_FMT);
-            int variance = Math.max(0, config.arrivalRandomMinutes);
+        long t0 = System.nanoTime();
+        SimulationEvents.ArrivalQueueBuild event =
+                SimulationEvents.recording() ? new SimulationEvents.ArrivalQueueBuild() : null;
+        if (event != null) event.begin();
+        Queue<ArrivalEvent> queue = null;
 
-            int secondsPerDay = 86400;
-            int secondsPerWeek = secondsPerDay * config.schoolDaysPerWeek;
+        try {
 
-            for (int week = 1; week <= config.weeksToSimulate; week++) {
+            ConfigFile config = inputs.config;
+            CompiledArrivals compiled = inputs.getCompiledArrivals();
+            if (compiled.error != null) return null;
 
-                for (var s : data.students) {
+            int startMinute = SimTime.parseMinuteOfDay(config.simulationStartTime);
+            List<ColumbiaSignUI.StudentDef> students = inputs.getStudents();
 
-                    for (var a : s.getArrivals()) {
+            // block b = students [b * P, (b + 1) * P), i.e. compiled arrivals
+            // firstOfStudent[b * P] .. firstOfStudent[min(n, (b + 1) * P)]
+            int blocks = Math.max(1, (students.size() + STUDENTS_PER_PARTITION - 1) / STUDENTS_PER_PARTITION);
 
-                        LocalTime base = LocalTime.parse(a.getTime(), TIME_FMT);
-                        int offset = rng.nextInt(variance * 2 + 1) - variance;
-                        LocalTime randomized = base.plusMinutes(offset);
+            int weeks = Math.max(0, config.weeksToSimulate);
+            int partitions = weeks * blocks;
 
-                        if (randomized.isBefore(simStart)) {
-                            randomized = simStart;
-                        }
+            SplittableRandom root = new SplittableRandom(rng.nextLong());
+            SplittableRandom[] streams = new SplittableRandom[partitions];
+            for (int p = 0; p < partitions; p++) streams[p] = root.split();
 
-                        int dayOffset = DAY_INDEX.getOrDefault(a.getDay(), 0);
-
-                        long secondsFromStartOfDay =
-                                Duration.between(simStart, randomized).getSeconds();
-
-                        long absoluteSeconds =
-                                (long)(week - 1) * secondsPerWeek +
-                                        (long)dayOffset * secondsPerDay +
-                                        secondsFromStartOfDay;
-
-                        int visibilitySeconds =
-                                Math.max(1,
-                                        (int) Math.round(
-                                                config.visibleMeanSec +
-                                                        rng.nextGaussian() * config.visibleStdDevSec
-                                        ));
-
-                        temp.add(new ArrivalEvent(
-                                s.getStudentName(),
-                                week,
-                                a.getDay(),
-                                randomized,
-                                absoluteSeconds,
-                                visibilitySeconds
-                        ));
-                    }
-                }
-            }
+            ArrivalEvent[][] sorted = new ArrivalEvent[partitions][];
 
-            temp.sort(Comparator.comparingLong(a -> a.absoluteSeconds));
-            return new LinkedList<>(temp);
+            IntStream.range(0, partitions).parallel().forEach(p -> {
+                int week = p / blocks + 1;
+                int b = p % blocks;
+                int from = compiled.firstOfStudent[Math.min(students.size(), b * STUDENTS_PER_PARTITION)];
+                int to = compiled.firstOfStudent[Math.min(students.size(), (b + 1) * STUDENTS_PER_PARTITION)];
+
+                ArrivalEvent[] part = generatePartition(config, startMinute, week, compiled, from, to,
+                        allSigns, students, streams[p]);
+                Arrays.sort(part, Comparator.comparingLong(a -> a.absoluteSeconds));
+                sorted[p] = part;
+            });
+
+            queue = mergePartitions(sorted, weeks, blocks);
+            return queue;
 
         } catch (Exception ex) {
             return null;
+        } finally {
+            SimulationMetrics.shared().recordArrivalQueueBuild(System.nanoTime() - t0);
+            if (event != null && event.shouldCommit()) {
+                event.students = inputs.getStudents().size();
+                event.weeks = Math.max(0, inputs.config.weeksToSimulate);
+                event.partitions = event.weeks * Math.max(1,
+                        (event.students + STUDENTS_PER_PARTITION - 1) / STUDENTS_PER_PARTITION);
+                event.arrivals = (queue == null) ? 0 : queue.size();
+                event.allSigns = allSigns;
+                event.commit();
+            }
+        }
+    }
+
+    /*
+       One week of compiled arrivals [from, to). The randomised time
+       is base + offset minutes wrapped onto the clock face (what
+       LocalTime.plusMinutes did), then held at the start time if it
+       lands before it.
+    */
+    private ArrivalEvent[] generatePartition(ConfigFile config,
+                                             int startMinute,
+                                             int week,
+                                             CompiledArrivals compiled,
+                                             int from,
+                                             int to,
+                                             boolean allSigns,
+                                             List<ColumbiaSignUI.StudentDef> students,
+                                             RandomGenerator rng) {
+
+        int variance = Math.max(0, config.arrivalRandomMinutes);
+
+        int secondsPerDay = SimTime.SECONDS_PER_DAY;
+        int secondsPerWeek = secondsPerDay * config.schoolDaysPerWeek;
+        long weekStart = (long) (week - 1) * secondsPerWeek;
+
+        int count = 0;
+        for (int k = from; k < to; k++) {
+            if (allSigns || compiled.signId[k] == MAIN_SIGN_ID) count++;
+        }
+
+        ArrivalEvent[] out = new ArrivalEvent[count];
+        int n = 0;
+
+        for (int k = from; k < to; k++) {
+
+            if (!allSigns && compiled.signId[k] != MAIN_SIGN_ID) continue;
+
+            int offset = rng.nextInt(variance * 2 + 1) - variance;
+            int minute = Math.floorMod(compiled.minuteOfDay[k] + offset, SimTime.MINUTES_PER_DAY);
+
+            if (minute < startMinute) {
+                minute = startMinute;
+            }
+
+            long absoluteSeconds =
+                    weekStart +
+                            (long) compiled.dayOrdinal[k] * secondsPerDay +
+                            (minute - startMinute) * 60L;
+
+            int visibilitySeconds =
+                    Math.max(1,
+                            (int) Math.round(
+                                    config.visibleMeanSec +
+                                            rng.nextGaussian() * config.visibleStdDevSec
+                            ));
+
+            int studentIndex = compiled.studentIndex[k];
+
+            ArrivalEvent a = new ArrivalEvent(
+                    students.get(studentIndex).getStudentName(),
+                    studentIndex,
+                    week,
+                    compiled.dayOrdinal[k],
+                    minute,
+                    absoluteSeconds,
+                    visibilitySeconds
+            );
+            a.signId = compiled.signId[k];
+            out[n++] = a;
+        }
+
+        return out;
+    }
+
+    /*
+       Partition p = (week - 1) * blocks + block. Merge the blocks of
+       each week, then append weeks in order as long as each one starts
+       at or after the previous one ends. If some week reaches back
+       into an earlier one (e.g. Friday arrivals with fewer than five
+       school days) fall back to merging all the weeks.
+    */
+    private Queue<ArrivalEvent> mergePartitions(ArrivalEvent[][] sorted, int weeks, int blocks) {
+
+        List<ArrivalEvent[]> byWeek = new ArrayList<>(weeks);
+        for (int w = 0; w < weeks; w++) {
+            byWeek.add(kWayMerge(Arrays.asList(sorted).subList(w * blocks, (w + 1) * blocks)));
+        }
+
+        long lastSeen = Long.MIN_VALUE;
+        boolean disjoint = true;
+
+        for (ArrivalEvent[] week : byWeek) {
+            if (week.length == 0) continue;
+            if (week[0].absoluteSeconds < lastSeen) {
+                disjoint = false;
+                break;
+            }
+            lastSeen = week[week.length - 1].absoluteSeconds;
+        }
+
+        ArrivalEvent[] all = disjoint ? concat(byWeek) : kWayMerge(byWeek);
+        return new ArrayDeque<>(Arrays.asList(all));
+    }
+
+    // Standard heap merge; equal times come out in run order.
+    private static ArrivalEvent[] kWayMerge(List<ArrivalEvent[]> runs) {
+
+        if (runs.size() == 1) return runs.get(0);
+
+        int total = 0;
+        for (ArrivalEvent[] r : runs) total += r.length;
+
+        ArrivalEvent[] out = new ArrivalEvent[total];
+        int[] cursor = new int[runs.size()];
+
+        PriorityQueue<Integer> heap = new PriorityQueue<>((x, y) -> {
+            int c = Long.compare(runs.get(x)[cursor[x]].absoluteSeconds, runs.get(y)[cursor[y]].absoluteSeconds);
+            return c != 0 ? c : Integer.compare(x, y);
+        });
+
+        for (int r = 0; r < runs.size(); r++) {
+            if (runs.get(r).length > 0) heap.add(r);
+        }
+
+        int n = 0;
+        while (!heap.isEmpty()) {
+            int r = heap.poll();
+            out[n++] = runs.get(r)[cursor[r]++];
+            if (cursor[r] < runs.get(r).length) heap.add(r);
+        }
+
+        return out;
+    }
+
+    private static ArrivalEvent[] concat(List<ArrivalEvent[]> runs) {
+        int total = 0;
+        for (ArrivalEvent[] r : runs) total += r.length;
+
+        ArrivalEvent[] out = new ArrivalEvent[total];
+        int n = 0;
+        for (ArrivalEvent[] r : runs) {
+            System.arraycopy(r, 0, out, n, r.length);
+            n += r.length;
         }
+        return out;
     }
 
     /* ============================================================
        CORE LOOP WITH CLOCK LOGGING
     ============================================================ */
 
-    private SimulationResult runTimelineSimulation(
+    private void runTimelineSimulation(
             ConfigFile config,
-            SlideNode head,
+            SimulationCalendar calendar,
+            SlideTimeline timeline,
             Queue<ArrivalEvent> queue,
-            List<ColumbiaSignUI.SlideDef> slides) {
+            List<ColumbiaSignUI.StudentDef> students,
+            SimulationListener listener) {
 
-        List<PlaybackEvent> playback = new ArrayList<>();
-        List<SlideCompletionRecord> completion = new ArrayList<>();
-        Map<String, Integer> accumulation = new HashMap<>();
-
-        SlideNode current = head;
-        long currentTime = 0;
+        ExposureMatrix exposure =
+                new ExposureMatrix(Math.max(0, config.weeksToSimulate), students.size(), timeline.size());
 
         int secondsPerDay = 86400;
         long simulationEnd =
@@ -347,34 +943,266 @@ public class SampleProcessor {
                         config.schoolDaysPerWeek *
                         secondsPerDay;
 
+        // Levels are resolved once here; at OFF nothing below touches the trace.
+        SimulationTrace.Level level = traceLevel;
+        boolean traceClock = level.includes(SimulationTrace.Level.ALL);
+        boolean traceHits = level.includes(SimulationTrace.Level.ALL);
+        boolean traceArrivals = level.includes(SimulationTrace.Level.ARRIVALS);
+        int daysPerWeek = config.schoolDaysPerWeek;
+
+        long started = System.nanoTime();
+        long[] counts = new long[4];   // arrivals, slide hits, FULL, PARTIAL
+
+        // Everything goes through here on its way to the caller, so the
+        // exposure arrays and the trace see exactly what the listener sees.
+        // It's also where a run notices it has been cancelled: once per
+        // simulated day (and once per week of the report) it checks the
+        // thread's interrupt flag, so SwingWorker.cancel(true) or
+        // Future.cancel(true) stops it with a CancellationException.
+        String modeName = engineMode.name();
+        int studentCount = students.size();
+
+        SimulationListener recorder = new SimulationListener() {
+            long progressDay = -1;
+            int reportWeek = 0;
+
+            // JFR: one SimulatedDay per day that had any output.
+            SimulationEvents.SimulatedDay dayEvent;
+            long dayArrivals;
+            long daySlides;
+
+            @Override
+            public void onArrival(ArrivalEvent arrival, long admittedAtSeconds) {
+                reachedTime(admittedAtSeconds);
+                counts[0]++;
+                if (traceArrivals) trace.arrival(admittedAtSeconds, daysPerWeek, arrival.studentName);
+                listener.onArrival(arrival, admittedAtSeconds);
+            }
+
+            @Override
+            public void onSlideShown(PlaybackEvent e) {
+                reachedTime(e.slideStartSeconds);
+                counts[1]++;
+                exposure.add(e.weekNumber, e.studentIndex, e.slideIndex, e.secondsToDisplay);
+                if (traceHits) {
+                    trace.slideHit(e.slideStartSeconds, daysPerWeek, e.studentName, e.slideName, e.secondsToDisplay);
+                }
+                listener.onSlideShown(e);
+            }
+
+            @Override
+            public void onCompletion(SlideCompletionRecord record) {
+                if (record.weekNumber != reportWeek) {
+                    reportWeek = record.weekNumber;
+                    checkCancelled();
+                }
+                counts[record.fullySeen ? 2 : 3]++;
+                listener.onCompletion(record);
+            }
+
+            private void reachedTime(long seconds) {
+                long day = seconds / secondsPerDay;
+                if (day <= progressDay) return;
+                endDay();
+                progressDay = day;
+                checkCancelled();
+                listener.onProgress(day * secondsPerDay, simulationEnd);
+
+                if (!SimulationEvents.recording()) return;
+                dayEvent = new SimulationEvents.SimulatedDay();
+                dayEvent.begin();
+                dayArrivals = counts[0];
+                daySlides = counts[1];
+            }
+
+            // Not part of the engine's stream: called once below, when the
+            // clock is done, to close the last day.
+            @Override
+            public void onProgress(long simulatedSeconds, long horizonSeconds) {
+                endDay();
+            }
+
+            private void endDay() {
+                if (dayEvent == null) return;
+                if (dayEvent.shouldCommit()) {
+                    dayEvent.engineMode = modeName;
+                    dayEvent.week = (int) (progressDay / Math.max(1, daysPerWeek)) + 1;
+                    dayEvent.dayOfWeek = (int) (progressDay % Math.max(1, daysPerWeek));
+                    dayEvent.arrivals = counts[0] - dayArrivals;
+                    dayEvent.slideEvents = counts[1] - daySlides;
+                    dayEvent.students = studentCount;
+                    dayEvent.commit();
+                }
+                dayEvent = null;
+            }
+        };
+
+        OnIntervals on = OnIntervals.of(calendar, timeline, simulationEnd);
+
+        if (engineMode == EngineMode.DAY_PARALLEL) {
+            runDaySegments(config, timeline, queue, on, recorder);
+        } else if (engineMode == EngineMode.VIEWER_PARALLEL) {
+            runViewers(timeline, queue, on, recorder);
+        } else {
+            boolean skipAhead = engineMode == EngineMode.SKIP_AHEAD;
+            for (int i = 0; i < on.count(); i++) {
+                // Anyone who walked past while the sign was off saw nothing.
+                while (!queue.isEmpty() && queue.peek().absoluteSeconds < on.starts[i]) queue.poll();
+
+                runClock(config, timeline, queue, on.starts[i], on.ends[i], on.shifts[i], on.cutAt(i),
+                        skipAhead, traceClock, recorder);
+            }
+        }
+
+        recorder.onProgress(simulationEnd, simulationEnd);   // closes the last day
+        listener.onProgress(simulationEnd, simulationEnd);
+
+        emitCompletionReport(exposure, timeline, students, recorder);
+
+        SimulationMetrics.shared().recordRun(on.totalSeconds(), System.nanoTime() - started,
+                counts[0], counts[1], counts[2] + counts[3]);
+
+        if (level.includes(SimulationTrace.Level.SUMMARY)) {
+            trace.message("[SUMMARY] " + engineMode + ": "
+                    + config.weeksToSimulate + " week(s), "
+                    + counts[0] + " arrivals, "
+                    + counts[1] + " slide hits, "
+                    + counts[2] + " FULL / " + counts[3] + " PARTIAL in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms");
+        }
+
+        listener.onFinished();
+    }
+
+    /* ============================================================
+       POWERED-ON INTERVALS
+
+       The stretches of engine time the clock actually runs over,
+       with the playlist phase for each (the slide on screen at t
+       is timeline.indexAt(t - shift)). Without a calendar that's
+       one interval [0, simulationEnd) with shift 0 — the sign as
+       it always was. With one, closed time between intervals is
+       never walked, whatever the engine mode: the clock just
+       starts again at the next interval.
+
+       cutAt: with a calendar, whatever is on screen when the sign
+       goes off is cut short there. Without one the last slide of
+       the horizon still counts in full, as before.
+    ============================================================ */
+
+    private static final class OnIntervals {
+        final long[] starts;
+        final long[] ends;
+        final long[] shifts;
+        final boolean cut;
+
+        private OnIntervals(long[] starts, long[] ends, long[] shifts, boolean cut) {
+            this.starts = starts;
+            this.ends = ends;
+            this.shifts = shifts;
+            this.cut = cut;
+        }
+
+        static OnIntervals of(SimulationCalendar calendar, SlideTimeline timeline, long simulationEnd) {
+
+            if (calendar == null) {
+                return new OnIntervals(new long[]{0}, new long[]{simulationEnd}, new long[]{0}, false);
+            }
+
+            int n = calendar.getIntervalCount();
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = calendar.getIntervalStart(i);
+                ends[i] = Math.min(calendar.getIntervalEnd(i), simulationEnd);
+            }
+            return new OnIntervals(starts, ends, calendar.phaseShifts(timeline.getCycleLength()), true);
+        }
+
+        int count() { return starts.length; }
+
+        long totalSeconds() {
+            long total = 0;
+            for (int i = 0; i < starts.length; i++) total += Math.max(0, ends[i] - starts[i]);
+            return total;
+        }
+
+        long cutAt(int i) { return cut ? ends[i] : Long.MAX_VALUE; }
+    }
+
+    /*
+       The clock itself, over one powered-on interval. Walks slide
+       boundaries from the first one at or after intervalStart until
+       intervalEnd, admitting arrivals at the first boundary at or
+       after their time and charging every active viewer
+       min(slide duration, remaining visibility, time to cutAt) per
+       slide. Boundaries are the timeline's, moved by phaseShift.
+       Arrivals the interval doesn't reach stay in the queue.
+    */
+    private void runClock(
+            ConfigFile config,
+            SlideTimeline timeline,
+            Queue<ArrivalEvent> queue,
+            long intervalStart,
+            long intervalEnd,
+            long phaseShift,
+            long cutAt,
+            boolean skipAhead,
+            boolean traceClock,
+            SimulationListener sink) {
+
+        long currentTime = phaseShift + timeline.boundaryAtOrAfter(intervalStart - phaseShift);
+        int currentIndex = timeline.indexAtBoundary(currentTime - phaseShift);
+
         List<ArrivalEvent> active = new ArrayList<>();
 
-        while (currentTime < simulationEnd) {
+        // Kept in locals, handed to SimulationMetrics once at the end.
+        long iterations = 0;
+        int maxActive = 0;
 
-            System.out.println(
-                    "[CLOCK] " +
-                            formatSimulationTime(currentTime, config.schoolDaysPerWeek) +
-                            " — Showing slide: " +
-                            current.slide.getSlideName()
-            );
+        while (currentTime < intervalEnd) {
+
+            if (skipAhead && active.isEmpty()) {
+
+                // Nobody watching and nobody left to arrive — the rest of the
+                // interval can't produce any output.
+                if (queue.isEmpty()) break;
+
+                long nextArrival = queue.peek().absoluteSeconds;
+
+                if (nextArrival > currentTime) {
+
+                    // Land on the first boundary at or after the arrival —
+                    // exactly where the tick loop would have picked it up.
+                    currentTime = phaseShift + timeline.boundaryAtOrAfter(nextArrival - phaseShift);
+                    currentIndex = timeline.indexAtBoundary(currentTime - phaseShift);
+
+                    if (currentTime >= intervalEnd) break;
+                }
+            }
+
+            ColumbiaSignUI.SlideDef current = timeline.getSlide(currentIndex);
+            iterations++;
+
+            if (traceClock) {
+                trace.clock(currentTime, config.schoolDaysPerWeek, current.getSlideName());
+            }
 
             while (!queue.isEmpty() &&
                     queue.peek().absoluteSeconds <= currentTime) {
 
                 ArrivalEvent arriving = queue.poll();
 
-                System.out.println(
-                        "[ARRIVAL HIT] " +
-                                formatSimulationTime(currentTime, config.schoolDaysPerWeek) +
-                                " — " +
-                                arriving.studentName +
-                                " entered system"
-                );
-
+                arriving.admittedAtSeconds = currentTime;
+                arriving.phaseShift = phaseShift;
+                arriving.cutAtSeconds = cutAt;
                 active.add(arriving);
+                sink.onArrival(arriving, currentTime);
             }
 
-            int slideDuration = current.slide.getDurationSeconds();
+            int slideDuration = current.getDurationSeconds();
+            long untilCut = cutAt - currentTime;
+            if (active.size() > maxActive) maxActive = active.size();
 
             Iterator<ArrivalEvent> it = active.iterator();
 
@@ -383,37 +1211,22 @@ public class SampleProcessor {
                 ArrivalEvent viewer = it.next();
 
                 int showSeconds =
-                        Math.min(slideDuration,
-                                viewer.remainingVisibilitySeconds);
-
-                System.out.println(
-                        "[SLIDE HIT] " +
-                                formatSimulationTime(currentTime, config.schoolDaysPerWeek) +
-                                " — " +
-                                viewer.studentName +
-                                " seeing \"" +
-                                current.slide.getSlideName() +
-                                "\" for " +
-                                showSeconds + "s"
-                );
-
-                playback.add(new PlaybackEvent(
+                        (int) Math.min(Math.min(slideDuration,
+                                viewer.remainingVisibilitySeconds), untilCut);
+
+                sink.onSlideShown(new PlaybackEvent(
                         viewer.weekNumber,
                         viewer.studentName,
-                        viewer.day,
-                        viewer.arrivalTime,
-                        current.slide.getSlideId(),
-                        current.slide.getSlideName(),
+                        viewer.studentIndex,
+                        viewer.dayOrdinal,
+                        viewer.arrivalMinute,
+                        current.getSlideId(),
+                        current.getSlideName(),
+                        currentIndex,
+                        currentTime,
                         showSeconds
                 ));
 
-                String key =
-                        viewer.weekNumber + "|" +
-                                viewer.studentName + "|" +
-                                current.slide.getSlideName();
-
-                accumulation.merge(key, showSeconds, Integer::sum);
-
                 viewer.remainingVisibilitySeconds -= showSeconds;
 
                 if (viewer.remainingVisibilitySeconds <= 0) {
@@ -422,58 +1235,490 @@ public class SampleProcessor {
             }
 
             currentTime += slideDuration;
-            current = current.next;
+            currentIndex = (currentIndex + 1) % timeline.size();
         }
 
-        Map<String, Integer> slideDurations =
-                slides.stream().collect(Collectors.toMap(
-                        ColumbiaSignUI.SlideDef::getSlideName,
-                        ColumbiaSignUI.SlideDef::getDurationSeconds
-                ));
+        SimulationMetrics.shared().recordClock(iterations, maxActive);
+    }
+
+    /* ============================================================
+       DAY-PARALLEL SEGMENTS
+
+       A viewer picked up at boundary b with visibility v sees
+       exactly the slides that start in [b, b + v) — nobody else
+       affects that. So wherever no earlier viewer's window reaches
+       past the next pick-up, the run splits cleanly: the slide on
+       screen there is just timeline.indexAtBoundary(b) and nobody
+       is carried over. We cut at the first such quiet point on each
+       new day (and always between powered-on intervals), run the
+       segments with SKIP_AHEAD on the pool, and replay their
+       buffered output in segment order. Every event of a segment
+       is strictly earlier than every event of the next one, so the
+       stitched stream matches the single-clock order exactly.
+
+       At most SEGMENTS_IN_FLIGHT_PER_CORE x cores segments are
+       buffered at once, so memory doesn't grow with the horizon.
+    ============================================================ */
 
-        List<String> sortedKeys = new ArrayList<>(accumulation.keySet());
-        sortedKeys.sort(Comparator.naturalOrder());
+    private static final int SEGMENTS_IN_FLIGHT_PER_CORE = 4;
 
-        for (String key : sortedKeys) {
+    // Arrivals of one independent stretch, plus the interval they're in.
+    private static final class Segment {
+        final int interval;
+        final List<ArrivalEvent> arrivals = new ArrayList<>();
 
-            String[] parts = key.split("\\|");
+        Segment(int interval) {
+            this.interval = interval;
+        }
+    }
+
+    private void runDaySegments(
+            ConfigFile config,
+            SlideTimeline timeline,
+            Queue<ArrivalEvent> queue,
+            OnIntervals on,
+            SimulationListener sink) {
 
-            int week = Integer.parseInt(parts[0]);
-            String student = parts[1];
-            String slide = parts[2];
+        List<Segment> segments = splitIntoDaySegments(timeline, queue, on);
+        if (segments.isEmpty()) return;
 
-            int secondsSeen = accumulation.get(key);
-            int required = slideDurations.getOrDefault(slide, Integer.MAX_VALUE);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int window = Math.max(2, pool.getParallelism() * SEGMENTS_IN_FLIGHT_PER_CORE);
 
-            completion.add(new SlideCompletionRecord(
-                    week,
-                    student,
-                    slide,
-                    secondsSeen >= required
+        List<ForkJoinTask<List<Object>>> inFlight = new ArrayList<>();
+        int submitted = 0;
+
+        try {
+            for (int i = 0; i < segments.size(); i++) {
+
+                while (submitted < segments.size() && submitted < i + window) {
+                    Segment segment = segments.get(submitted++);
+                    inFlight.add(pool.submit(() -> runSegment(config, timeline, segment, on)));
+                }
+
+                List<Object> output = inFlight.get(i).join();
+                inFlight.set(i, null);   // let the buffer go once it's replayed
+
+                for (Object o : output) {
+                    if (o instanceof PlaybackEvent) {
+                        sink.onSlideShown((PlaybackEvent) o);
+                    } else {
+                        ArrivalEvent a = (ArrivalEvent) o;
+                        sink.onArrival(a, a.admittedAtSeconds);
+                    }
+                }
+            }
+        } catch (CancellationException ex) {
+            // Sink gave up (cancelled run) — don't leave queued segments behind.
+            for (ForkJoinTask<List<Object>> t : inFlight) {
+                if (t != null) t.cancel(false);
+            }
+            throw ex;
+        }
+    }
+
+    // Runs one segment and buffers its arrivals and slide hits in order.
+    private List<Object> runSegment(ConfigFile config,
+                                    SlideTimeline timeline,
+                                    Segment segment,
+                                    OnIntervals on) {
+
+        List<Object> buffer = new ArrayList<>();
+        int i = segment.interval;
+
+        runClock(config, timeline, new ArrayDeque<>(segment.arrivals),
+                on.starts[i], on.ends[i], on.shifts[i], on.cutAt(i), true, false,
+                new SimulationListener() {
+                    @Override
+                    public void onArrival(ArrivalEvent arrival, long admittedAtSeconds) {
+                        buffer.add(arrival);
+                    }
+
+                    @Override
+                    public void onSlideShown(PlaybackEvent event) {
+                        buffer.add(event);
+                    }
+                });
+
+        return buffer;
+    }
+
+    private List<Segment> splitIntoDaySegments(SlideTimeline timeline, Queue<ArrivalEvent> queue, OnIntervals on) {
+
+        int secondsPerDay = SimTime.SECONDS_PER_DAY;
+
+        List<Segment> segments = new ArrayList<>();
+        if (on.count() == 0) return segments;
+
+        Segment current = null;
+
+        long segmentDay = Long.MIN_VALUE;
+        long busyUntil = Long.MIN_VALUE;   // end of the latest viewing window so far
+        int interval = 0;
+
+        for (ArrivalEvent a : queue) {
+
+            // Arrivals while the sign is off are dropped, same as the clock does.
+            if (a.absoluteSeconds < on.starts[interval]) continue;
+            while (interval + 1 < on.count() && a.absoluteSeconds >= on.starts[interval + 1]) interval++;
+            if (a.absoluteSeconds < on.starts[interval]) continue;
+
+            long shift = on.shifts[interval];
+            long pickUp = shift + timeline.boundaryAtOrAfter(a.absoluteSeconds - shift);
+            long day = Math.floorDiv(pickUp, secondsPerDay);
+
+            boolean newSegment = current == null
+                    || interval != current.interval
+                    || (day > segmentDay && pickUp >= busyUntil);
+
+            if (newSegment) {
+                if (current != null) segments.add(current);
+                current = new Segment(interval);
+                segmentDay = day;
+                busyUntil = Long.MIN_VALUE;
+            }
+
+            current.arrivals.add(a);
+            busyUntil = Math.max(busyUntil, pickUp + a.remainingVisibilitySeconds);
+        }
+
+        if (current != null) segments.add(current);
+
+        return segments;
+    }
+
+    /* ============================================================
+       VIEWER-PARALLEL
+
+       Viewers never affect each other: one picked up at boundary b
+       with visibility v, in an interval ending at e, sees the slides
+       starting in [b, e) from timeline.indexAtBoundary(b) on, each
+       for min(slide duration, visibility left, time to cutAt), until
+       the visibility runs out. So we work that list out per viewer,
+       in batches of VIEWERS_PER_BATCH on the pool, with nothing
+       shared between them.
+
+       Listeners still get one time-ordered stream, so the lists are
+       merged on the calling thread the way the clock would have
+       emitted them: at each boundary the arrivals picked up there
+       first, then everyone's slide for that boundary in pick-up
+       order. A heap over the viewers still watching does that in
+       O(log watching) per event. As with day segments, only
+       BATCHES_IN_FLIGHT_PER_CORE x cores batches are computed ahead
+       of the merge, and a viewer's list is dropped once it's merged.
+    ============================================================ */
+
+    private static final int VIEWERS_PER_BATCH = 1024;
+    private static final int BATCHES_IN_FLIGHT_PER_CORE = 2;
+
+    private void runViewers(
+            SlideTimeline timeline,
+            Queue<ArrivalEvent> queue,
+            OnIntervals on,
+            SimulationListener sink) {
+
+        List<ArrivalEvent> admitted = new ArrayList<>();
+        int[] intervals = new int[queue.size()];
+        pickUpViewers(timeline, queue, on, admitted, intervals);
+
+        int n = admitted.size();
+        if (n == 0) return;
+
+        ArrivalEvent[] viewers = admitted.toArray(new ArrivalEvent[0]);
+        PlaybackEvent[][] slides = new PlaybackEvent[n][];
+        int[] cursor = new int[n];
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int batches = (n + VIEWERS_PER_BATCH - 1) / VIEWERS_PER_BATCH;
+        int window = Math.max(2, pool.getParallelism() * BATCHES_IN_FLIGHT_PER_CORE);
+
+        List<ForkJoinTask<PlaybackEvent[][]>> inFlight = new ArrayList<>();
+        int submitted = 0;
+
+        // Viewers still watching, by the start of their next slide, then
+        // pick-up order (= array index) — the order the clock emits in.
+        PriorityQueue<Integer> watching = new PriorityQueue<>((x, y) -> {
+            int c = Long.compare(slides[x][cursor[x]].slideStartSeconds, slides[y][cursor[y]].slideStartSeconds);
+            return c != 0 ? c : Integer.compare(x, y);
+        });
+        int maxWatching = 0;
+
+        try {
+            int next = 0;
+            while (next < n || !watching.isEmpty()) {
+
+                boolean admitNext = next < n && (watching.isEmpty()
+                        || viewers[next].admittedAtSeconds <= slides[watching.peek()][cursor[watching.peek()]].slideStartSeconds);
+
+                if (admitNext) {
+                    if (next % VIEWERS_PER_BATCH == 0) {
+                        int batch = next / VIEWERS_PER_BATCH;
+
+                        while (submitted < batches && submitted < batch + window) {
+                            int from = submitted++ * VIEWERS_PER_BATCH;
+                            int to = Math.min(n, from + VIEWERS_PER_BATCH);
+                            inFlight.add(pool.submit(() -> IntStream.range(from, to)
+                                    .mapToObj(v -> viewerSlides(timeline, viewers[v], on.ends[intervals[v]]))
+                                    .toArray(PlaybackEvent[][]::new)));
+                        }
+
+                        PlaybackEvent[][] computed = inFlight.get(batch).join();
+                        inFlight.set(batch, null);
+                        System.arraycopy(computed, 0, slides, next, computed.length);
+                    }
+
+                    ArrivalEvent viewer = viewers[next];
+                    sink.onArrival(viewer, viewer.admittedAtSeconds);
+                    if (slides[next].length > 0) watching.add(next);
+                    next++;
+                    maxWatching = Math.max(maxWatching, watching.size());
+
+                } else {
+                    int v = watching.poll();
+                    sink.onSlideShown(slides[v][cursor[v]++]);
+
+                    if (cursor[v] < slides[v].length) {
+                        watching.add(v);
+                    } else {
+                        slides[v] = null;
+                    }
+                }
+            }
+        } catch (CancellationException ex) {
+            for (ForkJoinTask<PlaybackEvent[][]> t : inFlight) {
+                if (t != null) t.cancel(false);
+            }
+            throw ex;
+        }
+
+        SimulationMetrics.shared().recordClock(0, maxWatching);
+    }
+
+    // Who the clock would pick up, and in which interval: same rules
+    // as runClock (first boundary at or after the arrival, dropped if
+    // the sign is off or that boundary is past the interval's end).
+    private static void pickUpViewers(SlideTimeline timeline,
+                                      Queue<ArrivalEvent> queue,
+                                      OnIntervals on,
+                                      List<ArrivalEvent> admitted,
+                                      int[] intervals) {
+        if (on.count() == 0) return;
+
+        int interval = 0;
+
+        for (ArrivalEvent a : queue) {
+
+            if (a.absoluteSeconds < on.starts[interval]) continue;
+            while (interval + 1 < on.count() && a.absoluteSeconds >= on.starts[interval + 1]) interval++;
+            if (a.absoluteSeconds < on.starts[interval]) continue;
+
+            long shift = on.shifts[interval];
+            long pickUp = shift + timeline.boundaryAtOrAfter(a.absoluteSeconds - shift);
+            if (pickUp >= on.ends[interval]) continue;
+
+            a.admittedAtSeconds = pickUp;
+            a.phaseShift = shift;
+            a.cutAtSeconds = on.cutAt(interval);
+            intervals[admitted.size()] = interval;
+            admitted.add(a);
+        }
+    }
+
+    // One viewer's slides, in order. Mirrors the charging in runClock,
+    // including the one zero-second hit a zero-visibility viewer gets.
+    private static PlaybackEvent[] viewerSlides(SlideTimeline timeline, ArrivalEvent viewer, long intervalEnd) {
+
+        List<PlaybackEvent> out = new ArrayList<>();
+
+        long time = viewer.admittedAtSeconds;
+        int index = timeline.indexAtBoundary(time - viewer.phaseShift);
+
+        while (time < intervalEnd) {
+
+            ColumbiaSignUI.SlideDef slide = timeline.getSlide(index);
+            int slideDuration = slide.getDurationSeconds();
+
+            int showSeconds =
+                    (int) Math.min(Math.min(slideDuration,
+                            viewer.remainingVisibilitySeconds), viewer.cutAtSeconds - time);
+
+            out.add(new PlaybackEvent(
+                    viewer.weekNumber,
+                    viewer.studentName,
+                    viewer.studentIndex,
+                    viewer.dayOrdinal,
+                    viewer.arrivalMinute,
+                    slide.getSlideId(),
+                    slide.getSlideName(),
+                    index,
+                    time,
+                    showSeconds
             ));
+
+            viewer.remainingVisibilitySeconds -= showSeconds;
+            if (viewer.remainingVisibilitySeconds <= 0) break;
+
+            time += slideDuration;
+            index = (index + 1) % timeline.size();
         }
 
-        return new SimulationResult(playback, completion);
+        return out.toArray(new PlaybackEvent[0]);
+    }
+
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Simulation cancelled");
+        }
+    }
+
+    /* ============================================================
+       COMPLETION REPORT FROM EXPOSURE ARRAYS
+
+       One record per (week, student, slide) that was on screen at
+       least once for that student that week. Ordered by week, then
+       student name, then slide name. FULL means the accumulated
+       seconds reached the slide's own duration (looked up by
+       playlist position, so duplicate slide names are fine).
+    ============================================================ */
+
+    static void emitCompletionReport(
+            ExposureMatrix exposure,
+            SlideTimeline timeline,
+            List<ColumbiaSignUI.StudentDef> students,
+            SimulationListener listener) {
+
+        SimulationEvents.CompletionAggregation event =
+                SimulationEvents.recording() ? new SimulationEvents.CompletionAggregation() : null;
+        if (event != null) event.begin();
+        long records = 0;
+
+        Comparator<String> byName = Comparator.nullsFirst(Comparator.naturalOrder());
+
+        Integer[] studentOrder = new Integer[students.size()];
+        for (int i = 0; i < studentOrder.length; i++) studentOrder[i] = i;
+        Arrays.sort(studentOrder, (a, b) ->
+                byName.compare(students.get(a).getStudentName(), students.get(b).getStudentName()));
+
+        Integer[] slideOrder = new Integer[timeline.size()];
+        for (int i = 0; i < slideOrder.length; i++) slideOrder[i] = i;
+        Arrays.sort(slideOrder, (a, b) ->
+                byName.compare(timeline.getSlide(a).getSlideName(), timeline.getSlide(b).getSlideName()));
+
+        for (int week = 1; week <= exposure.getWeekCount(); week++) {
+
+            if (exposure.isWeekEmpty(week)) continue;
+
+            for (int student : studentOrder) {
+                for (int slide : slideOrder) {
+
+                    if (!exposure.wasShown(week, student, slide)) continue;
+
+                    ColumbiaSignUI.SlideDef def = timeline.getSlide(slide);
+                    ColumbiaSignUI.StudentDef who = students.get(student);
+
+                    SlideCompletionRecord record = new SlideCompletionRecord(
+                            week,
+                            who.getStudentId(),
+                            who.getStudentName(),
+                            def.getSlideId(),
+                            def.getSlideName(),
+                            exposure.secondsSeen(week, student, slide) >= timeline.getDuration(slide)
+                    );
+                    record.studentIndex = student;
+                    record.slideIndex = slide;
+                    listener.onCompletion(record);
+                    records++;
+                }
+            }
+        }
+
+        if (event != null && event.shouldCommit()) {
+            event.weeks = exposure.getWeekCount();
+            event.students = students.size();
+            event.slides = timeline.size();
+            event.records = records;
+            event.commit();
+        }
     }
 
     /* ============================================================
        JSON LOADERS
     ============================================================ */
 
+    // Each load is timed into SimulationMetrics and a JFR JsonLoad event, failures included.
+
     private List<ColumbiaSignUI.SlideDef> loadSlides() {
-        try (FileReader r = new FileReader(SLIDES_JSON_FILE)) {
+        long t0 = System.nanoTime();
+        SimulationEvents.JsonLoad event = SimulationEvents.recording() ? new SimulationEvents.JsonLoad() : null;
+        if (event != null) event.begin();
+        List<ColumbiaSignUI.SlideDef> slides = null;
+        try (FileReader r = new FileReader(slidesFile.toFile())) {
             SlidesFile data = gson.fromJson(r, SlidesFile.class);
-            return data == null ? null : data.slides;
+            slides = (data == null) ? null : data.slides;
+            return slides;
         } catch (Exception ex) {
             return null;
+        } finally {
+            loaded("slides", slidesFile, t0, event, slides == null ? -1 : slides.size());
+        }
+    }
+
+    private List<ColumbiaSignUI.StudentDef> loadStudents() {
+        long t0 = System.nanoTime();
+        SimulationEvents.JsonLoad event = SimulationEvents.recording() ? new SimulationEvents.JsonLoad() : null;
+        if (event != null) event.begin();
+        List<ColumbiaSignUI.StudentDef> students = null;
+        try (FileReader r = new FileReader(studentsFile.toFile())) {
+            StudentFile data = gson.fromJson(r, StudentFile.class);
+            students = (data == null) ? null : data.students;
+            return students;
+        } catch (Exception ex) {
+            return null;
+        } finally {
+            loaded("students", studentsFile, t0, event, students == null ? -1 : students.size());
+        }
+    }
+
+    private List<SignDef> loadSignDefs() {
+        long t0 = System.nanoTime();
+        SimulationEvents.JsonLoad event = SimulationEvents.recording() ? new SimulationEvents.JsonLoad() : null;
+        if (event != null) event.begin();
+        List<SignDef> signs = null;
+        try (FileReader r = new FileReader(signsFile.toFile())) {
+            SignsFile data = gson.fromJson(r, SignsFile.class);
+            signs = (data == null) ? null : data.signs;
+            return signs;
+        } catch (Exception ex) {
+            return null;
+        } finally {
+            loaded("signs", signsFile, t0, event, signs == null ? -1 : signs.size());
         }
     }
 
     private ConfigFile loadConfig() {
-        try (FileReader r = new FileReader(CONFIG_JSON_FILE)) {
-            return gson.fromJson(r, ConfigFile.class);
+        long t0 = System.nanoTime();
+        SimulationEvents.JsonLoad event = SimulationEvents.recording() ? new SimulationEvents.JsonLoad() : null;
+        if (event != null) event.begin();
+        ConfigFile config = null;
+        try (FileReader r = new FileReader(configFile.toFile())) {
+            config = gson.fromJson(r, ConfigFile.class);
+            return config;
         } catch (Exception ex) {
             return null;
+        } finally {
+            loaded("config", configFile, t0, event, config == null ? -1 : 1);
         }
     }
+
+    // records < 0 means the load failed.
+    private static void loaded(String file, Path path, long startNanos, SimulationEvents.JsonLoad event, int records) {
+        SimulationMetrics.shared().recordLoad(file, System.nanoTime() - startNanos);
+        if (event == null || !event.shouldCommit()) return;
+        event.file = file;
+        event.path = path.toString();
+        event.fileBytes = path.toFile().length();
+        event.records = Math.max(0, records);
+        event.succeeded = records >= 0;
+        event.commit();
+    }
 }
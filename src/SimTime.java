@@ -0,0 +1,91 @@
+// FILE: src/SimTime.java
+// Purpose: The simulation's time model in plain ints — minute of day, school-day ordinal, engine
+// seconds — plus the conversions to text / java.time that only presentation code needs.
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+public final class SimTime {
+
+    /* =========================================================
+       Units
+
+       minute of day  0..1439, wall clock ("HH:mm" in the JSON)
+       day ordinal    DayOfWeek.ordinal(): 0 = Monday .. 4 = Friday;
+                      also the day's offset inside a school week
+       engine second  seconds since simulationStartTime on the
+                      first Monday; day d of week w starts at
+                      ((w-1) * schoolDays + d) * SECONDS_PER_DAY
+
+       Parsing happens once when inputs are loaded; the arrival
+       draw and the clock only ever add and compare these.
+       ========================================================= */
+    public static final int SECONDS_PER_DAY = 86400;
+    public static final int MINUTES_PER_DAY = 1440;
+
+    private static final int SCHOOL_DAYS = 5;
+    private static final String[] DAY_NAMES = new String[SCHOOL_DAYS];
+
+    static {
+        for (int d = 0; d < SCHOOL_DAYS; d++) {
+            DAY_NAMES[d] = DayOfWeek.values()[d].getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        }
+    }
+
+    private SimTime() { }
+
+    /*
+       Strict "HH:mm" (two digits each, 00:00 .. 23:59) to minute of
+       day — the same strings DateTimeFormatter.ofPattern("HH:mm")
+       accepted before.
+    */
+    public static int parseMinuteOfDay(String hhmm) {
+        if (hhmm == null || hhmm.length() != 5 || hhmm.charAt(2) != ':') {
+            throw new IllegalArgumentException("Expected HH:mm but got \"" + hhmm + "\"");
+        }
+        int h = twoDigits(hhmm, 0);
+        int m = twoDigits(hhmm, 3);
+        if (h < 0 || h > 23 || m < 0 || m > 59) {
+            throw new IllegalArgumentException("Expected HH:mm but got \"" + hhmm + "\"");
+        }
+        return h * 60 + m;
+    }
+
+    private static int twoDigits(String s, int at) {
+        char a = s.charAt(at);
+        char b = s.charAt(at + 1);
+        if (a < '0' || a > '9' || b < '0' || b > '9') return -1;
+        return (a - '0') * 10 + (b - '0');
+    }
+
+    /*
+       "Monday".."Friday", exactly as the editor writes them, to
+       0..4. Anything else ("monday", "Sat") is rejected rather
+       than quietly simulated — and reported — as Monday.
+    */
+    public static int dayOrdinal(String day) {
+        for (int d = 0; d < SCHOOL_DAYS; d++) {
+            if (DAY_NAMES[d].equals(day)) return d;
+        }
+        throw new IllegalArgumentException("Expected Monday..Friday but got \"" + day + "\"");
+    }
+
+    /* ---------- presentation ---------- */
+
+    public static String dayName(int ordinal) {
+        return (ordinal >= 0 && ordinal < SCHOOL_DAYS) ? DAY_NAMES[ordinal] : "Day " + (ordinal + 1);
+    }
+
+    public static String formatMinuteOfDay(int minute) {
+        int h = minute / 60;
+        int m = minute % 60;
+        return new String(new char[]{
+                (char) ('0' + h / 10), (char) ('0' + h % 10), ':', (char) ('0' + m / 10), (char) ('0' + m % 10)});
+    }
+
+    public static LocalTime toLocalTime(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
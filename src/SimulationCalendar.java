@@ -0,0 +1,250 @@
+// FILE: src/SimulationCalendar.java
+// Purpose: The optional "calendar" block of configData.json, turned into the list of intervals
+// (in engine seconds) during which the sign is actually on. No calendar = on around the clock.
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public final class SimulationCalendar {
+
+    /* =========================================================
+       configData.json
+
+         "calendar": {
+           "startDate": "2026-09-08",          first day simulated
+           "endDate":   "2026-12-18",          last day (inclusive)
+           "operatingHours": {                 sign on/off per weekday;
+             "Monday": "07:00-18:00",          several ranges allowed
+             "Friday": "07:00-12:00,13:00-16:00"   ("a-b,c-d")
+           },                                  a missing weekday = off;
+                                               no map at all = all day
+           "holidays": ["2026-11-26",          no school, sign off;
+                        "2026-12-21..2027-01-01"]   ranges inclusive
+           "rotationPolicy": "RESET"           or "CARRY"
+         }
+
+       With a calendar, weeks run Monday-based from the week that
+       holds startDate, and weeksToSimulate is replaced by however
+       many weeks it takes to reach endDate. Engine time is laid out
+       exactly as before (school day d of week w starts at
+       ((w-1) * schoolDaysPerWeek + d) * 86400, second 0 being
+       simulationStartTime), so reports, traces and the heatmap
+       don't change; the calendar only says which stretches of it
+       are simulated.
+
+       Rotation policy at each power-on:
+         RESET — the playlist starts again from slide 0
+         CARRY — it resumes where it was when the sign went off,
+                 as if the off time never happened
+       ========================================================= */
+    public enum RotationPolicy { RESET, CARRY }
+
+    // Gson shape of the "calendar" block.
+    static class CalendarConfig {
+        String startDate;
+        String endDate;
+        Map<String, String> operatingHours;
+        List<String> holidays;
+        String rotationPolicy;
+
+        CalendarConfig copy() {
+            CalendarConfig c = new CalendarConfig();
+            c.startDate = startDate;
+            c.endDate = endDate;
+            c.operatingHours = operatingHours;
+            c.holidays = holidays;
+            c.rotationPolicy = rotationPolicy;
+            return c;
+        }
+    }
+
+    private final LocalDate firstMonday;
+    private final int weeks;
+    private final RotationPolicy policy;
+    private final long[] starts;   // open intervals, engine seconds, sorted, disjoint
+    private final long[] ends;
+    private final long openSeconds;
+
+    private SimulationCalendar(LocalDate firstMonday, int weeks, RotationPolicy policy,
+                               List<long[]> intervals) {
+        this.firstMonday = firstMonday;
+        this.weeks = weeks;
+        this.policy = policy;
+        this.starts = new long[intervals.size()];
+        this.ends = new long[intervals.size()];
+        long open = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            starts[i] = intervals.get(i)[0];
+            ends[i] = intervals.get(i)[1];
+            open += ends[i] - starts[i];
+        }
+        this.openSeconds = open;
+    }
+
+    /* =========================================================
+       Compile
+
+       One pass over the school days between the two dates; each
+       open day contributes its operating ranges, clipped to the
+       engine day (which begins at simulationStartTime). Anything
+       malformed throws IllegalArgumentException with the reason.
+       ========================================================= */
+    static SimulationCalendar compile(CalendarConfig cal, int schoolDaysPerWeek, int startMinute) {
+
+        if (cal.startDate == null || cal.endDate == null) {
+            throw new IllegalArgumentException("calendar needs startDate and endDate");
+        }
+        LocalDate start = parseDate(cal.startDate);
+        LocalDate end = parseDate(cal.endDate);
+        if (end.isBefore(start)) throw new IllegalArgumentException("calendar endDate is before startDate");
+
+        RotationPolicy policy = RotationPolicy.RESET;
+        if (cal.rotationPolicy != null) {
+            try {
+                policy = RotationPolicy.valueOf(cal.rotationPolicy.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("rotationPolicy must be RESET or CARRY, not " + cal.rotationPolicy);
+            }
+        }
+
+        // minute ranges per weekday (DayOfWeek ordinal); null = sign off that day
+        int[][] hours = new int[7][];
+        if (cal.operatingHours == null) {
+            for (int d = 0; d < 7; d++) hours[d] = new int[]{0, SimTime.MINUTES_PER_DAY};
+        } else {
+            for (Map.Entry<String, String> e : cal.operatingHours.entrySet()) {
+                hours[weekday(e.getKey()).ordinal()] = parseRanges(e.getKey(), e.getValue());
+            }
+        }
+
+        Set<LocalDate> closed = new HashSet<>();
+        if (cal.holidays != null) {
+            for (String h : cal.holidays) {
+                int dots = h.indexOf("..");
+                LocalDate from = parseDate(dots < 0 ? h : h.substring(0, dots));
+                LocalDate to = (dots < 0) ? from : parseDate(h.substring(dots + 2));
+                for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) closed.add(d);
+            }
+        }
+
+        LocalDate firstMonday = start.minusDays(start.getDayOfWeek().ordinal());
+        int weeks = (int) (ChronoUnit.WEEKS.between(firstMonday, end) + 1);
+        int days = Math.min(Math.max(0, schoolDaysPerWeek), 7);
+
+        List<long[]> intervals = new ArrayList<>();
+
+        for (int w = 0; w < weeks; w++) {
+            for (int d = 0; d < days; d++) {
+                LocalDate date = firstMonday.plusDays(7L * w + d);
+                if (date.isBefore(start) || date.isAfter(end) || closed.contains(date)) continue;
+
+                int[] ranges = hours[date.getDayOfWeek().ordinal()];
+                if (ranges == null) continue;
+
+                long dayStart = ((long) w * schoolDaysPerWeek + d) * SimTime.SECONDS_PER_DAY;
+                for (int r = 0; r < ranges.length; r += 2) {
+                    int on = Math.max(ranges[r], startMinute) - startMinute;
+                    int off = ranges[r + 1] - startMinute;
+                    if (off <= on) continue;
+                    add(intervals, dayStart + on * 60L, dayStart + off * 60L);
+                }
+            }
+        }
+
+        return new SimulationCalendar(firstMonday, weeks, policy, intervals);
+    }
+
+    // Keeps the list sorted and merges touching/overlapping ranges.
+    private static void add(List<long[]> intervals, long s, long e) {
+        if (!intervals.isEmpty()) {
+            long[] last = intervals.get(intervals.size() - 1);
+            if (s <= last[1]) {
+                last[1] = Math.max(last[1], e);
+                return;
+            }
+        }
+        intervals.add(new long[]{s, e});
+    }
+
+    private static int[] parseRanges(String day, String text) {
+        if (text == null || text.isBlank()) return null;
+        String[] parts = text.split(",");
+        int[] out = new int[parts.length * 2];
+        for (int i = 0; i < parts.length; i++) {
+            String p = parts[i].trim();
+            int dash = p.indexOf('-');
+            if (dash < 0) throw new IllegalArgumentException(day + " hours should look like 07:00-18:00, not " + p);
+            out[2 * i] = SimTime.parseMinuteOfDay(p.substring(0, dash).trim());
+            String to = p.substring(dash + 1).trim();
+            out[2 * i + 1] = to.equals("24:00") ? SimTime.MINUTES_PER_DAY : SimTime.parseMinuteOfDay(to);
+            if (out[2 * i + 1] <= out[2 * i]) {
+                throw new IllegalArgumentException(day + " hours " + p + " end before they start");
+            }
+        }
+        return out;
+    }
+
+    private static DayOfWeek weekday(String name) {
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (d.getDisplayName(TextStyle.FULL, Locale.ENGLISH).equalsIgnoreCase(name.trim())) return d;
+        }
+        throw new IllegalArgumentException("Unknown weekday in operatingHours: " + name);
+    }
+
+    private static LocalDate parseDate(String s) {
+        try {
+            return LocalDate.parse(s.trim());
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Bad calendar date \"" + s + "\" (expected yyyy-MM-dd)");
+        }
+    }
+
+    /* =========================================================
+       Reads
+       ========================================================= */
+    public int getWeeks() { return weeks; }
+
+    public LocalDate getFirstMonday() { return firstMonday; }
+
+    public RotationPolicy getRotationPolicy() { return policy; }
+
+    public int getIntervalCount() { return starts.length; }
+
+    public long getIntervalStart(int i) { return starts[i]; }
+
+    public long getIntervalEnd(int i) { return ends[i]; }
+
+    /** Seconds the sign is on over the whole horizon. */
+    public long getOpenSeconds() { return openSeconds; }
+
+    /* =========================================================
+       Playlist phase per interval
+
+       The engine shows slide timeline.indexAt(t - shift[i]) at
+       engine second t inside interval i. Shifts are picked so
+       that t - shift only ever moves forward across intervals:
+         CARRY — t - shift is the sign's total on-time so far
+         RESET — same, but rounded up to a whole cycle at each
+                 power-on, so every interval opens on slide 0
+       ========================================================= */
+    public long[] phaseShifts(long cycleLength) {
+        long[] shift = new long[starts.length];
+        long playlistTime = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (policy == RotationPolicy.RESET && cycleLength > 0) {
+                playlistTime = Math.floorDiv(playlistTime + cycleLength - 1, cycleLength) * cycleLength;
+            }
+            shift[i] = starts[i] - playlistTime;
+            playlistTime += ends[i] - starts[i];
+        }
+        return shift;
+    }
+}
@@ -0,0 +1,201 @@
+// FILE: src/SimulationEvents.java
+// Purpose: JDK Flight Recorder event types for the simulation phases and the UI's image work, so
+// a recording shows which phase (or which oversized slide image) the time went to.
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+public final class SimulationEvents {
+
+    /* =========================================================
+       How they're used
+
+         E e = SimulationEvents.recording() ? new E() : null;
+         if (e != null) e.begin();
+         ... the work ...
+         if (e != null && e.shouldCommit()) { fill fields; e.commit(); }
+
+       Events are only created when recording() says the recorder
+       is up. Just touching an Event subclass loads the jdk.jfr
+       machinery (~100 classes, a few hundred ms of startup),
+       which a headless batch run shouldn't pay when nobody is
+       recording. recording() only loads FlightRecorder itself.
+       It's asked each time, so a recording started later with
+       jcmd JFR.start is picked up from the next phase on.
+
+       Record with e.g.
+         java -XX:StartFlightRecording=filename=run.jfr,settings=profile ...
+       and look under "Columbia Sign" in JDK Mission Control, or
+         jfr print --categories "Columbia Sign" run.jfr
+
+       Durations are wall time on the thread that ran the phase.
+       SimulatedDay is the exception in the parallel modes: the
+       work is done on the pool and only replayed (DAY_PARALLEL)
+       or merged (VIEWER_PARALLEL) in order on the calling thread,
+       so there it measures that.
+       ========================================================= */
+    private SimulationEvents() { }
+
+    /** True once JFR is running in this JVM (-XX:StartFlightRecording, jcmd, JMC). */
+    static boolean recording() {
+        return FlightRecorder.isInitialized();
+    }
+
+    private static final String CATEGORY = "Columbia Sign";
+
+    /* ---------- engine ---------- */
+
+    @Name("columbiasign.JsonLoad")
+    @Label("JSON Load")
+    @Description("One of the input files read and parsed with Gson")
+    @Category({CATEGORY, "Simulation"})
+    static final class JsonLoad extends Event {
+        @Label("File")
+        String file;          // config, slides, students, signs
+
+        @Label("Path")
+        String path;
+
+        @Label("File Size")
+        @DataAmount
+        long fileBytes;
+
+        @Label("Records")
+        @Description("Slides, students or signs read (1 for the config)")
+        int records;
+
+        @Label("Succeeded")
+        boolean succeeded;
+    }
+
+    @Name("columbiasign.ArrivalQueueBuild")
+    @Label("Arrival Queue Build")
+    @Category({CATEGORY, "Simulation"})
+    static final class ArrivalQueueBuild extends Event {
+        @Label("Students")
+        int students;
+
+        @Label("Weeks")
+        int weeks;
+
+        @Label("Partitions")
+        int partitions;
+
+        @Label("Arrivals")
+        int arrivals;
+
+        @Label("All Signs")
+        boolean allSigns;
+    }
+
+    @Name("columbiasign.SimulatedDay")
+    @Label("Simulated Day")
+    @Description("Everything the engine emitted for one simulated day")
+    @Category({CATEGORY, "Simulation"})
+    static final class SimulatedDay extends Event {
+        @Label("Engine Mode")
+        String engineMode;
+
+        @Label("Week")
+        int week;
+
+        @Label("Day Of Week")
+        int dayOfWeek;        // 0-based school day inside the week
+
+        @Label("Arrivals")
+        long arrivals;
+
+        @Label("Slide Events")
+        long slideEvents;
+
+        @Label("Students")
+        int students;
+    }
+
+    @Name("columbiasign.CompletionAggregation")
+    @Label("Completion Aggregation")
+    @Description("Building the FULL / PARTIAL report from the exposure arrays")
+    @Category({CATEGORY, "Simulation"})
+    static final class CompletionAggregation extends Event {
+        @Label("Weeks")
+        int weeks;
+
+        @Label("Students")
+        int students;
+
+        @Label("Slides")
+        int slides;
+
+        @Label("Records")
+        long records;
+    }
+
+    /* ---------- UI ---------- */
+
+    @Name("columbiasign.ImagePreview")
+    @Label("Image Preview")
+    @Description("Decoding a slide image for the preview pane")
+    @Category({CATEGORY, "UI"})
+    static final class ImagePreview extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("File Size")
+        @DataAmount
+        long fileBytes;
+
+        @Label("Width")
+        int width;
+
+        @Label("Height")
+        int height;
+
+        @Label("Decoded Size")
+        @Description("width x height x 4 (ARGB)")
+        @DataAmount
+        long decodedBytes;
+    }
+
+    @Name("columbiasign.RenderPreview")
+    @Label("Render Preview")
+    @Category({CATEGORY, "UI"})
+    static final class RenderPreview extends Event {
+        @Label("Source Width")
+        int sourceWidth;
+
+        @Label("Source Height")
+        int sourceHeight;
+
+        @Label("Target Width")
+        int targetWidth;
+
+        @Label("Target Height")
+        int targetHeight;
+
+        @Label("Rotation")
+        int rotationDegrees;
+    }
+
+    @Name("columbiasign.RotateImage")
+    @Label("Rotate Image")
+    @Category({CATEGORY, "UI"})
+    static final class RotateImage extends Event {
+        @Label("Width")
+        int width;
+
+        @Label("Height")
+        int height;
+
+        @Label("Rotation")
+        int rotationDegrees;
+
+        @Label("Bytes Drawn")
+        @DataAmount
+        long bytesDrawn;      // output width x height x 4
+    }
+}
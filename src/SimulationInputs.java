@@ -0,0 +1,137 @@
+// FILE: src/SimulationInputs.java
+// Purpose: The three JSON inputs (config, slides, students) parsed once and held in memory,
+// so batch runs (Monte Carlo, sweeps) don't re-read the files for every simulation.
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public final class SimulationInputs {
+
+    /* =========================================================
+       What we hold
+
+       config   — parsed configData.json (package-private type, so
+                  only the processor and friends look inside it);
+                  our own copy, so the caller's ConfigFile is never
+                  changed and later edits to it don't leak in
+       timeline — slides sorted by slideOrder with prefix offsets
+       students — roster in file order; a student's position here
+                  is their dense id for the exposure arrays
+       arrivals — the roster's arrivals parsed to ints, once
+       calendar — when the sign is on (null = always); with one,
+                  config.weeksToSimulate is replaced by the number
+                  of weeks its dates span
+
+       Treat all of it as read-only: one instance is shared by
+       every thread of a batch run.
+       ========================================================= */
+    final SampleProcessor.ConfigFile config;
+    private final SlideTimeline timeline;
+    private final List<ColumbiaSignUI.StudentDef> students;
+    private final CompiledArrivals arrivals;
+    private final SimulationCalendar calendar;
+
+    // Throws IllegalArgumentException if the calendar block can't be used.
+    SimulationInputs(SampleProcessor.ConfigFile config,
+                     SlideTimeline timeline,
+                     List<ColumbiaSignUI.StudentDef> students) {
+        this.config = config.copy();
+        this.timeline = timeline;
+        this.students = Collections.unmodifiableList(new ArrayList<>(students));
+        this.arrivals = CompiledArrivals.compile(this.students);
+
+        if (this.config.calendar != null) {
+            this.calendar = SimulationCalendar.compile(this.config.calendar, this.config.schoolDaysPerWeek,
+                    SimTime.parseMinuteOfDay(this.config.simulationStartTime));
+            this.config.weeksToSimulate = calendar.getWeeks();
+        } else {
+            this.calendar = null;
+        }
+    }
+
+    private SimulationInputs(SampleProcessor.ConfigFile config,
+                             SlideTimeline timeline,
+                             SimulationInputs sameRoster) {
+        this.config = config;
+        this.timeline = timeline;
+        this.students = sameRoster.students;
+        this.arrivals = sameRoster.arrivals;
+        this.calendar = sameRoster.calendar;
+    }
+
+    public SlideTimeline getTimeline() { return timeline; }
+
+    public List<ColumbiaSignUI.StudentDef> getStudents() { return students; }
+
+    CompiledArrivals getCompiledArrivals() { return arrivals; }
+
+    /** When the sign is on, or null if it's on around the clock. */
+    public SimulationCalendar getCalendar() { return calendar; }
+
+    /** Wall-clock time engine second 0 of each day stands for (midnight if unparseable). */
+    public LocalTime getSimulationStartTime() {
+        try {
+            return LocalTime.parse(config.simulationStartTime);
+        } catch (RuntimeException ex) {
+            return LocalTime.MIDNIGHT;
+        }
+    }
+
+    public int getWeeksToSimulate() { return config.weeksToSimulate; }
+
+    public int getSchoolDaysPerWeek() { return config.schoolDaysPerWeek; }
+
+    public int getArrivalRandomMinutes() { return config.arrivalRandomMinutes; }
+
+    public double getVisibleMeanSec() { return config.visibleMeanSec; }
+
+    public double getVisibleStdDevSec() { return config.visibleStdDevSec; }
+
+    /** First second past the horizon: weeks x school days x 86400. */
+    public long getSimulationEndSeconds() {
+        return (long) config.weeksToSimulate * config.schoolDaysPerWeek * 86400;
+    }
+
+    /* =========================================================
+       Variants for sweeps
+
+       Returns a copy with some knobs changed. Anything passed as
+       null is left as loaded. The roster (and its compiled
+       arrivals) and the calendar are shared, not copied;
+       slides are only copied when a duration actually changes,
+       and the originals are never touched.
+       ========================================================= */
+    public SimulationInputs withOverrides(Double visibleMeanSec,
+                                          Double visibleStdDevSec,
+                                          Integer arrivalRandomMinutes,
+                                          Map<Integer, Integer> durationBySlideId) {
+
+        SampleProcessor.ConfigFile c = config.copy();
+        if (visibleMeanSec != null) c.visibleMeanSec = visibleMeanSec;
+        if (visibleStdDevSec != null) c.visibleStdDevSec = visibleStdDevSec;
+        if (arrivalRandomMinutes != null) c.arrivalRandomMinutes = arrivalRandomMinutes;
+
+        SlideTimeline t = timeline;
+
+        if (durationBySlideId != null && !durationBySlideId.isEmpty()) {
+            List<ColumbiaSignUI.SlideDef> slides = new ArrayList<>();
+            for (int i = 0; i < timeline.size(); i++) {
+                ColumbiaSignUI.SlideDef s = timeline.getSlide(i);
+                Integer d = durationBySlideId.get(s.getSlideId());
+                if (d != null && d != s.getDurationSeconds()) {
+                    ColumbiaSignUI.SlideDef copy = new ColumbiaSignUI.SlideDef(
+                            s.getSlideId(), s.getSlideOrder(), s.getSlideName(), d, s.getImagePath());
+                    copy.setRotationDegrees(s.getRotationDegrees());
+                    s = copy;
+                }
+                slides.add(s);
+            }
+            t = SlideTimeline.fromSlides(slides);
+        }
+
+        return new SimulationInputs(c, t, this);
+    }
+}
@@ -0,0 +1,251 @@
+// FILE: src/SimulationJob.java
+// Purpose: One simulation run on a SwingWorker thread — loads the JSON, runs the engine, reports
+// progress (simulated time / horizon) and partial results to the EDT, and can be cancelled.
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.random.RandomGenerator;
+
+public class SimulationJob extends SwingWorker<SampleProcessor.SimulationResult, SimulationJob.Update> {
+
+    /* =========================================================
+       What the EDT sees
+
+       Updates are published from the engine thread and handed to
+       Callbacks.onUpdate on the EDT (SwingWorker coalesces them if
+       the EDT is busy, so nothing here can flood it):
+         - progress at most every UPDATE_INTERVAL_MS, as the clock
+           reaches each new simulated day
+         - one WeekTally per week as the completion report is built
+
+       Exactly one of onDone / onCancelled / onFailed is called at
+       the end, also on the EDT. cancel(true) interrupts the worker;
+       the engine checks for that once per simulated day.
+
+       Built without a generator, the job uses the processor's seed
+       (if it has one) and goes through its result cache; a hit
+       publishes a single finished update with fromCache set.
+       ========================================================= */
+    private static final long UPDATE_INTERVAL_MS = 100;
+
+    public static class WeekTally {
+        public final int week;
+        public final long full;
+        public final long partial;
+
+        WeekTally(int week, long full, long partial) {
+            this.week = week;
+            this.full = full;
+            this.partial = partial;
+        }
+    }
+
+    public static class Update {
+        public final long simulatedSeconds;
+        public final long horizonSeconds;
+        public final int schoolDaysPerWeek;
+        public final long arrivals;                   // -1: unknown (disk cache hit; the store keeps no visits)
+        public final long slideViews;
+        public final List<WeekTally> finishedWeeks;   // weeks reported since the previous update
+        public final boolean fromCache;
+
+        Update(long simulatedSeconds, long horizonSeconds, int schoolDaysPerWeek,
+               long arrivals, long slideViews, List<WeekTally> finishedWeeks, boolean fromCache) {
+            this.simulatedSeconds = simulatedSeconds;
+            this.horizonSeconds = horizonSeconds;
+            this.schoolDaysPerWeek = schoolDaysPerWeek;
+            this.arrivals = arrivals;
+            this.slideViews = slideViews;
+            this.finishedWeeks = finishedWeeks;
+            this.fromCache = fromCache;
+        }
+
+        public double fraction() {
+            return horizonSeconds <= 0 ? 1 : Math.min(1, (double) simulatedSeconds / horizonSeconds);
+        }
+
+        /** 1-based simulated week the clock is in. */
+        public int week() {
+            long secondsPerWeek = 86400L * Math.max(1, schoolDaysPerWeek);
+            return (int) (Math.min(simulatedSeconds, Math.max(0, horizonSeconds - 1)) / secondsPerWeek) + 1;
+        }
+    }
+
+    public interface Callbacks {
+        default void onUpdate(Update update) { }
+
+        void onDone(SampleProcessor.SimulationResult result);
+
+        default void onCancelled() { }
+
+        default void onFailed(Throwable cause) { }
+    }
+
+    private final SampleProcessor processor;
+    private final RandomGenerator random;
+    private final Callbacks callbacks;
+
+    public SimulationJob(SampleProcessor processor, RandomGenerator random, Callbacks callbacks) {
+        this.processor = processor;
+        this.random = random;
+        this.callbacks = callbacks;
+    }
+
+    public SimulationJob(SampleProcessor processor, Callbacks callbacks) {
+        this(processor, null, callbacks);
+    }
+
+    /* =========================================================
+       Worker thread
+       ========================================================= */
+    @Override
+    protected SampleProcessor.SimulationResult doInBackground() {
+
+        SimulationInputs inputs = processor.loadInputs();
+        if (inputs == null) {
+            throw new IllegalStateException("Could not load config/slides/students JSON");
+        }
+
+        Publisher publisher = new Publisher(inputs.getSchoolDaysPerWeek());
+
+        if (random == null && processor.getSeed() != null) {
+            SampleProcessor.SimulationResult result = processor.runCached(inputs, processor.getSeed(), publisher);
+            if (!publisher.ran) publisher.replayCached(result, inputs.getSimulationEndSeconds());
+            return result;
+        }
+
+        VisitCollector collector = new VisitCollector(inputs);
+
+        if (!processor.runSimulation(inputs, random != null ? random : new java.util.Random(),
+                SimulationListener.all(collector, publisher))) {
+            throw new IllegalStateException("Config can't produce arrivals");
+        }
+
+        return collector.toResult();
+    }
+
+    // Counts on the worker thread; publishes snapshots.
+    private class Publisher implements SimulationListener {
+        private final int schoolDaysPerWeek;
+
+        private long arrivals;
+        private long slideViews;
+        private long simulatedSeconds;
+        private long horizonSeconds;
+        private long lastPublished;
+        private boolean ran;
+        private boolean fromCache;
+
+        private int week;
+        private long full;
+        private long partial;
+        private List<WeekTally> finishedWeeks = new ArrayList<>();
+
+        Publisher(int schoolDaysPerWeek) {
+            this.schoolDaysPerWeek = schoolDaysPerWeek;
+        }
+
+        @Override
+        public void onArrival(SampleProcessor.ArrivalEvent arrival, long admittedAtSeconds) {
+            ran = true;
+            arrivals++;
+        }
+
+        @Override
+        public void onSlideShown(SampleProcessor.PlaybackEvent event) {
+            slideViews++;
+        }
+
+        @Override
+        public void onProgress(long simulatedSeconds, long horizonSeconds) {
+            ran = true;
+            this.simulatedSeconds = simulatedSeconds;
+            this.horizonSeconds = horizonSeconds;
+
+            setProgress((int) Math.min(100, horizonSeconds <= 0 ? 100 : simulatedSeconds * 100 / horizonSeconds));
+
+            if (simulatedSeconds >= horizonSeconds
+                    || System.currentTimeMillis() - lastPublished >= UPDATE_INTERVAL_MS) {
+                publishNow();
+            }
+        }
+
+        @Override
+        public void onCompletion(SampleProcessor.SlideCompletionRecord record) {
+            if (record.weekNumber != week) {
+                closeWeek();
+                week = record.weekNumber;
+            }
+            if (record.fullySeen) full++;
+            else partial++;
+        }
+
+        @Override
+        public void onFinished() {
+            closeWeek();
+            publishNow();
+        }
+
+        // Cache hit: no clock ran, so report the stored run as finished.
+        void replayCached(SampleProcessor.SimulationResult result, long horizonSeconds) {
+            fromCache = true;
+            simulatedSeconds = horizonSeconds;
+            this.horizonSeconds = horizonSeconds;
+            arrivals = (result.visits != null) ? result.visits.size() : -1;
+            slideViews = result.playbackEvents.size();
+            setProgress(100);
+
+            lastPublished = Long.MAX_VALUE / 2;   // one update at the end, not one per week
+            for (SampleProcessor.SlideCompletionRecord r : result.completionReport) onCompletion(r);
+            onFinished();
+        }
+
+        private void closeWeek() {
+            if (week == 0) return;
+            finishedWeeks.add(new WeekTally(week, full, partial));
+            full = 0;
+            partial = 0;
+            week = 0;
+            if (System.currentTimeMillis() - lastPublished >= UPDATE_INTERVAL_MS) publishNow();
+        }
+
+        private void publishNow() {
+            lastPublished = System.currentTimeMillis();
+            publish(new Update(simulatedSeconds, horizonSeconds, schoolDaysPerWeek,
+                    arrivals, slideViews, finishedWeeks, fromCache));
+            finishedWeeks = new ArrayList<>();
+        }
+    }
+
+    /* =========================================================
+       EDT
+       ========================================================= */
+    @Override
+    protected void process(List<Update> chunks) {
+        if (isCancelled()) return;
+        for (Update u : chunks) callbacks.onUpdate(u);
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            callbacks.onCancelled();
+            return;
+        }
+        try {
+            callbacks.onDone(get());
+        } catch (CancellationException ex) {
+            callbacks.onCancelled();
+        } catch (ExecutionException ex) {
+            Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+            if (cause instanceof CancellationException) callbacks.onCancelled();
+            else callbacks.onFailed(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            callbacks.onFailed(ex);
+        }
+    }
+}
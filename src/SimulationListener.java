@@ -0,0 +1,66 @@
+// FILE: src/SimulationListener.java
+// Purpose: Callbacks the simulation engine fires as it runs, so reports, playback and
+// aggregators can consume events as they are produced instead of from one giant List.
+
+public interface SimulationListener {
+
+    /* =========================================================
+       Event order for one run:
+
+         onArrival / onSlideShown  — interleaved, in simulated-time order
+         onProgress                — each time the clock reaches a new
+                                     simulated day, then once at the end
+         onCompletion              — one per (week, student, slide), after
+                                     the clock has stopped
+         onFinished                — exactly once, last
+
+       Every method has an empty default, so a listener only
+       overrides what it cares about. Callbacks run on the thread
+       doing the simulation; keep them cheap.
+       ========================================================= */
+
+    /** A viewer was picked up at the slide boundary admittedAtSeconds. */
+    default void onArrival(SampleProcessor.ArrivalEvent arrival, long admittedAtSeconds) { }
+
+    /** One viewer saw one slide for event.secondsToDisplay seconds. */
+    default void onSlideShown(SampleProcessor.PlaybackEvent event) { }
+
+    /** The clock has got as far as simulatedSeconds out of horizonSeconds. */
+    default void onProgress(long simulatedSeconds, long horizonSeconds) { }
+
+    default void onCompletion(SampleProcessor.SlideCompletionRecord record) { }
+
+    default void onFinished() { }
+
+    /* =========================================================
+       Fan-out helper: one run feeding several sinks.
+       ========================================================= */
+    static SimulationListener all(SimulationListener... listeners) {
+        return new SimulationListener() {
+            @Override
+            public void onArrival(SampleProcessor.ArrivalEvent arrival, long admittedAtSeconds) {
+                for (SimulationListener l : listeners) l.onArrival(arrival, admittedAtSeconds);
+            }
+
+            @Override
+            public void onSlideShown(SampleProcessor.PlaybackEvent event) {
+                for (SimulationListener l : listeners) l.onSlideShown(event);
+            }
+
+            @Override
+            public void onProgress(long simulatedSeconds, long horizonSeconds) {
+                for (SimulationListener l : listeners) l.onProgress(simulatedSeconds, horizonSeconds);
+            }
+
+            @Override
+            public void onCompletion(SampleProcessor.SlideCompletionRecord record) {
+                for (SimulationListener l : listeners) l.onCompletion(record);
+            }
+
+            @Override
+            public void onFinished() {
+                for (SimulationListener l : listeners) l.onFinished();
+            }
+        };
+    }
+}
@@ -0,0 +1,224 @@
+// FILE: src/SimulationMetrics.java
+// Purpose: Process-wide counters and timers for JSON loading, the engine and realtime playback,
+// kept in LongAdders so recording never blocks, and published as an MXBean for JMX clients.
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SimulationMetrics implements SimulationMetricsMXBean {
+
+    /* =========================================================
+       Recording
+
+       Everything is a LongAdder (or a LongAccumulator for the
+       maxima), so any number of threads — fork/join segments,
+       server requests, the EDT — record without locks or
+       contention. The engine doesn't even touch those per event:
+       runClock counts in locals and adds its totals once when it
+       returns, so the hot loop pays nothing.
+
+       Publishing
+
+       Recording works whether or not anyone is watching. The
+       MXBean is only registered when registerMBean() is called
+       (the UI and the HTTP service do; the headless runner with
+       --jmx), because the platform MBean server costs startup
+       time a short batch run shouldn't pay.
+       ========================================================= */
+    public static final String OBJECT_NAME = "columbiasign:type=SimulationMetrics";
+
+    private static final SimulationMetrics SHARED = new SimulationMetrics();
+    private static volatile boolean registered;
+
+    public static SimulationMetrics shared() {
+        return SHARED;
+    }
+
+    /** Publishes the shared instance on the platform MBean server (once; later calls do nothing). */
+    public static void registerMBean() {
+        if (registered) return;
+        synchronized (SimulationMetrics.class) {
+            if (registered) return;
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (!server.isRegistered(name)) server.registerMBean(SHARED, name);
+                registered = true;
+            } catch (JMException | RuntimeException ex) {
+                System.err.println("Cannot register " + OBJECT_NAME + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /* =========================================================
+       A timer: how many, total, max
+       ========================================================= */
+    static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        TimerStats snapshot() {
+            return new TimerStats(count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6);
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+    }
+
+    // What JMX shows for a timer (a CompositeData with these three items plus the mean).
+    public static final class TimerStats {
+        private final long count;
+        private final double totalMillis;
+        private final double maxMillis;
+
+        public TimerStats(long count, double totalMillis, double maxMillis) {
+            this.count = count;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        public long getCount() { return count; }
+
+        public double getTotalMillis() { return totalMillis; }
+
+        public double getMaxMillis() { return maxMillis; }
+
+        public double getMeanMillis() { return count == 0 ? 0 : totalMillis / count; }
+
+        // Lets a JMX proxy turn the CompositeData back into one of these.
+        public static TimerStats from(CompositeData data) {
+            return new TimerStats((Long) data.get("count"), (Double) data.get("totalMillis"),
+                    (Double) data.get("maxMillis"));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d x, mean %.3f ms, max %.3f ms", count, getMeanMillis(), maxMillis);
+        }
+    }
+
+    /* =========================================================
+       State
+       ========================================================= */
+    private final Timer loadConfig = new Timer();
+    private final Timer loadSlides = new Timer();
+    private final Timer loadStudents = new Timer();
+    private final Timer loadSigns = new Timer();
+    private final Timer arrivalQueueBuild = new Timer();
+    private final Timer runs = new Timer();
+    private final Timer playbackDrift = new Timer();
+
+    private final LongAdder loopIterations = new LongAdder();
+    private final LongAdder simulatedSeconds = new LongAdder();
+    private final LongAdder engineNanos = new LongAdder();
+    private final LongAccumulator activeViewersHighWater = new LongAccumulator(Math::max, 0);
+    private final LongAdder arrivalsEmitted = new LongAdder();
+    private final LongAdder slideEventsEmitted = new LongAdder();
+    private final LongAdder completionRecordsEmitted = new LongAdder();
+    private volatile long lastPlaybackDriftNanos;
+
+    private SimulationMetrics() { }
+
+    /* ---------- recording (package-private: engine and UI only) ---------- */
+
+    void recordLoad(String file, long nanos) {
+        switch (file) {
+            case "config" -> loadConfig.record(nanos);
+            case "slides" -> loadSlides.record(nanos);
+            case "students" -> loadStudents.record(nanos);
+            case "signs" -> loadSigns.record(nanos);
+            default -> { }
+        }
+    }
+
+    void recordArrivalQueueBuild(long nanos) {
+        arrivalQueueBuild.record(nanos);
+    }
+
+    // One runClock call (a whole run, a calendar interval or a day segment).
+    void recordClock(long iterations, long maxActiveViewers) {
+        loopIterations.add(iterations);
+        activeViewersHighWater.accumulate(maxActiveViewers);
+    }
+
+    void recordRun(long simulated, long nanos, long arrivals, long slideEvents, long completionRecords) {
+        runs.record(nanos);
+        simulatedSeconds.add(simulated);
+        engineNanos.add(nanos);
+        arrivalsEmitted.add(arrivals);
+        slideEventsEmitted.add(slideEvents);
+        completionRecordsEmitted.add(completionRecords);
+    }
+
+    void recordPlaybackDrift(long nanos) {
+        playbackDrift.record(nanos);
+        lastPlaybackDriftNanos = nanos;
+    }
+
+    /* ---------- MXBean ---------- */
+
+    @Override public TimerStats getLoadConfig() { return loadConfig.snapshot(); }
+
+    @Override public TimerStats getLoadSlides() { return loadSlides.snapshot(); }
+
+    @Override public TimerStats getLoadStudents() { return loadStudents.snapshot(); }
+
+    @Override public TimerStats getLoadSigns() { return loadSigns.snapshot(); }
+
+    @Override public TimerStats getArrivalQueueBuild() { return arrivalQueueBuild.snapshot(); }
+
+    @Override public TimerStats getRuns() { return runs.snapshot(); }
+
+    @Override public long getLoopIterations() { return loopIterations.sum(); }
+
+    @Override public long getSimulatedSeconds() { return simulatedSeconds.sum(); }
+
+    @Override
+    public double getSimulatedSecondsPerWallSecond() {
+        long nanos = engineNanos.sum();
+        return nanos == 0 ? 0 : simulatedSeconds.sum() / (nanos / 1e9);
+    }
+
+    @Override public long getActiveViewersHighWater() { return activeViewersHighWater.get(); }
+
+    @Override public long getArrivalsEmitted() { return arrivalsEmitted.sum(); }
+
+    @Override public long getSlideEventsEmitted() { return slideEventsEmitted.sum(); }
+
+    @Override public long getCompletionRecordsEmitted() { return completionRecordsEmitted.sum(); }
+
+    @Override public TimerStats getPlaybackTimerDrift() { return playbackDrift.snapshot(); }
+
+    @Override public double getLastPlaybackTimerDriftMillis() { return lastPlaybackDriftNanos / 1e6; }
+
+    @Override
+    public void reset() {
+        for (Timer t : new Timer[]{loadConfig, loadSlides, loadStudents, loadSigns, arrivalQueueBuild, runs,
+                playbackDrift}) {
+            t.reset();
+        }
+        loopIterations.reset();
+        simulatedSeconds.reset();
+        engineNanos.reset();
+        activeViewersHighWater.reset();
+        arrivalsEmitted.reset();
+        slideEventsEmitted.reset();
+        completionRecordsEmitted.reset();
+        lastPlaybackDriftNanos = 0;
+    }
+}
@@ -0,0 +1,44 @@
+// FILE: src/SimulationMetricsMXBean.java
+// Purpose: What SimulationMetrics shows over JMX (JConsole, VisualVM, any JMX client) under
+// columbiasign:type=SimulationMetrics.
+
+public interface SimulationMetricsMXBean {
+
+    /* ---------- JSON loading, per file ---------- */
+    SimulationMetrics.TimerStats getLoadConfig();
+
+    SimulationMetrics.TimerStats getLoadSlides();
+
+    SimulationMetrics.TimerStats getLoadStudents();
+
+    SimulationMetrics.TimerStats getLoadSigns();
+
+    /* ---------- engine ---------- */
+    SimulationMetrics.TimerStats getArrivalQueueBuild();
+
+    SimulationMetrics.TimerStats getRuns();
+
+    long getLoopIterations();
+
+    long getSimulatedSeconds();
+
+    /** Simulated seconds over engine wall seconds, across all runs so far. */
+    double getSimulatedSecondsPerWallSecond();
+
+    long getActiveViewersHighWater();
+
+    long getArrivalsEmitted();
+
+    long getSlideEventsEmitted();
+
+    long getCompletionRecordsEmitted();
+
+    /* ---------- realtime playback ---------- */
+
+    /** How late each playback timer fired compared with when it was due. */
+    SimulationMetrics.TimerStats getPlaybackTimerDrift();
+
+    double getLastPlaybackTimerDriftMillis();
+
+    void reset();
+}
@@ -0,0 +1,480 @@
+// FILE: src/SimulationServer.java
+// Purpose: Small embedded HTTP service (JDK httpserver, one virtual thread per request) that runs
+// simulations from inline JSON, keeps recent runs by id and streams their playback as NDJSON.
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class SimulationServer {
+
+    /* =========================================================
+       Endpoints
+
+         POST /simulate
+              { "configData":  { ...configData.json... },
+                "slidesData":  { "slides":   [ ... ] },
+                "studentData": { "students": [ ... ] },
+                "seed": 42,                      optional (one is
+                                                 picked and echoed)
+                "engine": "SKIP_AHEAD" }         optional
+              -> 201 run summary (below), Location: /runs/{id}
+
+         GET  /runs/{id}
+              -> 200 run summary + completion report
+
+         GET  /runs/{id}/events
+              -> 200 application/x-ndjson, one playback event per
+                 line (ReportWriter's NDJSON), written as it's read
+                 off the stored run
+
+       Listens on the loopback interface only unless --bind says
+       otherwise: there's no authentication, so putting it on a
+       network is a deliberate choice.
+
+       Limits per POST: at most MAX_WEEKS weeks, 1-7 school days,
+       MAX_STUDENTS students, MAX_SLIDES slides, MAX_EXPOSURE_CELLS
+       weeks x students x slides (the exposure arrays) and
+       MAX_ARRIVALS arrivals over the horizon; anything bigger is a
+       400 before the engine starts, so a small body can't make one
+       run allocate the heap away.
+
+       Memory over time:
+         - a POST takes its run slot before the body is read, so
+           requests queued on the limiter hold a connection, not
+           up to MAX_BODY_BYTES of JSON each
+         - kept runs are bounded by rows (visits + completion
+           records), not just by count: at most MAX_RUNS of them
+           and about a quarter of the heap between them
+           (ROW_BYTES_ESTIMATE a row); the oldest go first, and the
+           newest is always kept
+         - GET /runs/{id} writes the completion report record by
+           record, like /events, never as one String
+
+       Errors are {"error": "..."} with 400 (bad payload),
+       404 (no such run / path), 405 (wrong method), 413 (body
+       over MAX_BODY_BYTES), 422 (inputs parse but can't produce
+       arrivals), 500 (the run itself failed) or 503 (limiter
+       full, with Retry-After).
+
+       Threads: every exchange gets its own virtual thread, so a
+       slow client or a request queued on the limiter costs next
+       to nothing. Simulating is CPU work, so only
+       maxConcurrent runs (default: one per core) are allowed at
+       once; the rest wait on a fair semaphore, at most
+       MAX_WAITING of them and for at most QUEUE_TIMEOUT_MS.
+       Streaming events isn't limited — it's I/O.
+
+       Runs are kept in memory as visits (VisitCollector) plus
+       their completion report; evicted ids 404. Nothing here
+       touches the files the UI uses, the result cache or the
+       trace.
+       ========================================================= */
+    public static final int DEFAULT_PORT = 8085;
+
+    private static final int MAX_RUNS = 512;
+    private static final int MAX_WAITING = 2000;
+    private static final long QUEUE_TIMEOUT_MS = 30_000;
+    private static final int MAX_BODY_BYTES = 32 << 20;
+
+    private static final int MAX_WEEKS = 520;
+    private static final int MAX_STUDENTS = 100_000;
+    private static final int MAX_SLIDES = 1_000;
+    private static final long MAX_EXPOSURE_CELLS = 20_000_000L;   // ints, ~80 MB at worst
+    private static final long MAX_ARRIVALS = 5_000_000L;
+
+    // A VisitRecord or completion record with its list slot, roughly.
+    private static final long ROW_BYTES_ESTIMATE = 48;
+    private static final long MAX_RETAINED_ROWS =
+            Math.max(1_000_000L, Runtime.getRuntime().maxMemory() / 4 / ROW_BYTES_ESTIMATE);
+
+    private final Gson gson = new Gson();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore limiter;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+    private final ArrayDeque<Run> runOrder = new ArrayDeque<>();   // guarded by itself
+    private long retainedRows;                                       // guarded by runOrder
+
+    /** On the loopback interface only. */
+    public SimulationServer(int port, int maxConcurrent) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port, maxConcurrent);
+    }
+
+    public SimulationServer(InetAddress bindAddress, int port, int maxConcurrent) throws IOException {
+        SimulationMetrics.registerMBean();
+        this.limiter = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.server = HttpServer.create(new InetSocketAddress(bindAddress, port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/simulate", this::handleSimulate);
+        server.createContext("/runs/", this::handleRuns);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                sendError(exchange, 404, "No such endpoint");
+            }
+        });
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public static void main(String[] args) throws IOException {
+        InetAddress bind = InetAddress.getLoopbackAddress();
+        int port = DEFAULT_PORT;
+        int maxConcurrent = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--bind" -> bind = InetAddress.getByName(args[i + 1]);
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--max-concurrent" -> maxConcurrent = Integer.parseInt(args[i + 1]);
+                default -> {
+                    System.err.println("usage: SimulationServer [--bind ADDRESS] [--port N] [--max-concurrent N]");
+                    System.exit(HeadlessRunner.EXIT_USAGE);
+                }
+            }
+        }
+
+        SimulationServer s = new SimulationServer(bind, port, maxConcurrent);
+        s.start();
+        System.out.println("Simulation service on http://" + bind.getHostAddress() + ":" + s.getPort()
+                + " (" + maxConcurrent + " concurrent runs)");
+    }
+
+    /* =========================================================
+       A finished run
+       ========================================================= */
+    private static final class Run {
+        final String id;
+        final long seed;
+        final SampleProcessor.EngineMode engine;
+        final SampleProcessor.SimulationResult result;
+        final double millis;
+
+        Run(String id, long seed, SampleProcessor.EngineMode engine,
+            SampleProcessor.SimulationResult result, double millis) {
+            this.id = id;
+            this.seed = seed;
+            this.engine = engine;
+            this.result = result;
+            this.millis = millis;
+        }
+
+        // What keeping this run costs, in ROW_BYTES_ESTIMATE units.
+        long rows() {
+            long visits = (result.visits != null) ? result.visits.size() : result.playbackEvents.size();
+            return visits + result.completionReport.size();
+        }
+
+        Map<String, Object> summary() {
+            long full = 0;
+            for (SampleProcessor.SlideCompletionRecord r : result.completionReport) {
+                if (r.fullySeen) full++;
+            }
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("id", id);
+            m.put("seed", seed);
+            m.put("engine", engine.name());
+            m.put("arrivals", result.visits != null ? result.visits.size() : null);
+            m.put("slideViews", result.playbackEvents.size());
+            m.put("full", full);
+            m.put("partial", result.completionReport.size() - full);
+            m.put("ms", millis);
+            m.put("events", "/runs/" + id + "/events");
+            return m;
+        }
+    }
+
+    private void remember(Run run) {
+        synchronized (runOrder) {
+            runs.put(run.id, run);
+            runOrder.addLast(run);
+            retainedRows += run.rows();
+
+            while (runOrder.size() > 1 && (runOrder.size() > MAX_RUNS || retainedRows > MAX_RETAINED_ROWS)) {
+                Run oldest = runOrder.removeFirst();
+                runs.remove(oldest.id);
+                retainedRows -= oldest.rows();
+            }
+        }
+    }
+
+    /* =========================================================
+       POST /simulate
+       ========================================================= */
+    private void handleSimulate(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST");
+                return;
+            }
+
+            int waiting = limiter.getQueueLength();
+            if (waiting >= MAX_WAITING) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Too many queued simulations (" + waiting + ")");
+                return;
+            }
+
+            boolean acquired;
+            try {
+                acquired = limiter.tryAcquire(QUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                sendError(exchange, 503, "Interrupted while queued");
+                return;
+            }
+            if (!acquired) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Timed out waiting for a simulation slot");
+                return;
+            }
+
+            Run run;
+            try {
+                run = simulate(exchange);
+            } finally {
+                limiter.release();
+            }
+            if (run == null) return;   // already answered
+
+            remember(run);
+            exchange.getResponseHeaders().set("Location", "/runs/" + run.id);
+            sendJson(exchange, 201, run.summary());
+        }
+    }
+
+    /*
+       One admitted POST: read and check the body, then run it.
+       Null once an error has been sent.
+    */
+    private Run simulate(HttpExchange exchange) throws IOException {
+
+        JsonObject body;
+        try {
+            byte[] bytes = readBody(exchange.getRequestBody());
+            if (bytes == null) {
+                sendError(exchange, 413, "Body over " + MAX_BODY_BYTES + " bytes");
+                return null;
+            }
+            JsonElement parsed = JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8));
+            if (!parsed.isJsonObject()) throw new IllegalArgumentException("Body must be a JSON object");
+            body = parsed.getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException ex) {
+            sendError(exchange, 400, "Body is not valid JSON: " + ex.getMessage());
+            return null;
+        } catch (IllegalArgumentException ex) {
+            sendError(exchange, 400, ex.getMessage());
+            return null;
+        }
+
+        SampleProcessor processor = new SampleProcessor();
+        processor.setTraceLevel(SimulationTrace.Level.OFF);
+        processor.setResultCache(null);
+
+        SimulationInputs inputs;
+        long seed;
+        try {
+            processor.setEngineMode(body.has("engine")
+                    ? SampleProcessor.EngineMode.valueOf(body.get("engine").getAsString().trim().toUpperCase())
+                    : SampleProcessor.EngineMode.SKIP_AHEAD);
+            seed = body.has("seed") ? body.get("seed").getAsLong() : ThreadLocalRandom.current().nextLong();
+            inputs = processor.parseInputs(body.get("configData"), body.get("slidesData"),
+                    body.get("studentData"));
+            checkLimits(inputs);
+        } catch (IllegalArgumentException ex) {
+            sendError(exchange, 400, ex.getMessage());
+            return null;
+        } catch (RuntimeException ex) {
+            // Nothing has run yet; whatever else broke, broke on the payload
+            // (a "seed" that's an object, a field of the wrong type, ...).
+            sendError(exchange, 400, "Bad payload: " + ex);
+            return null;
+        }
+        body = null;   // the parsed JSON isn't needed while the engine runs
+
+        try {
+            long t0 = System.nanoTime();
+            VisitCollector collector = new VisitCollector(inputs);
+            if (!processor.runSimulation(inputs, new Random(seed), collector)) {
+                sendError(exchange, 422, "Config can't produce arrivals");
+                return null;
+            }
+            SampleProcessor.SimulationResult result = collector.toResult();
+            double ms = Math.round((System.nanoTime() - t0) / 100_000.0) / 10.0;
+            return new Run(Long.toString(nextId.getAndIncrement()), seed, processor.getEngineMode(), result, ms);
+        } catch (RuntimeException ex) {
+            sendError(exchange, 500, "Simulation failed: " + ex);
+            return null;
+        }
+    }
+
+    // The size limits above, as IllegalArgumentException (-> 400).
+    private static void checkLimits(SimulationInputs inputs) {
+        int weeks = inputs.getWeeksToSimulate();
+        int days = inputs.getSchoolDaysPerWeek();
+        int students = inputs.getStudents().size();
+        int slides = inputs.getTimeline().size();
+
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new IllegalArgumentException("weeksToSimulate must be 1.." + MAX_WEEKS + ", not " + weeks);
+        }
+        if (days < 1 || days > 7) {
+            throw new IllegalArgumentException("schoolDaysPerWeek must be 1..7, not " + days);
+        }
+        if (students > MAX_STUDENTS) {
+            throw new IllegalArgumentException("At most " + MAX_STUDENTS + " students, not " + students);
+        }
+        if (slides > MAX_SLIDES) {
+            throw new IllegalArgumentException("At most " + MAX_SLIDES + " slides, not " + slides);
+        }
+        if ((long) weeks * students * slides > MAX_EXPOSURE_CELLS) {
+            throw new IllegalArgumentException("weeks x students x slides is over " + MAX_EXPOSURE_CELLS);
+        }
+
+        long perWeek = 0;
+        for (ColumbiaSignUI.StudentDef s : inputs.getStudents()) {
+            if (s != null && s.getArrivals() != null) perWeek += s.getArrivals().size();
+        }
+        if (perWeek * weeks > MAX_ARRIVALS) {
+            throw new IllegalArgumentException("Over " + MAX_ARRIVALS + " arrivals across the horizon");
+        }
+    }
+
+    // Whole body, or null if it's over MAX_BODY_BYTES.
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            if (out.size() + n > MAX_BODY_BYTES) return null;
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /* =========================================================
+       GET /runs/{id}  and  GET /runs/{id}/events
+       ========================================================= */
+    private void handleRuns(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+
+            String rest = exchange.getRequestURI().getPath().substring("/runs/".length());
+            boolean events = rest.endsWith("/events");
+            String id = events ? rest.substring(0, rest.length() - "/events".length()) : rest;
+
+            Run run = runs.get(id);
+            if (run == null) {
+                sendError(exchange, 404, "No run " + id + " (only the last " + MAX_RUNS + " are kept)");
+                return;
+            }
+
+            if (events) {
+                streamEvents(exchange, run);
+            } else {
+                streamRun(exchange, run);
+            }
+        }
+    }
+
+    /*
+       Summary + completion report as one JSON object, chunked:
+       the summary fields, then the records written one at a time
+       straight into the response.
+    */
+    private void streamRun(HttpExchange exchange, Run run) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+
+        try (JsonWriter out = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), ReportWriter.BUFFER_CHARS))) {
+
+            out.beginObject();
+            for (Map.Entry<String, Object> e : run.summary().entrySet()) {
+                out.name(e.getKey());
+                gson.toJson(e.getValue(), Object.class, out);
+            }
+            out.name("completionReport").beginArray();
+            for (SampleProcessor.SlideCompletionRecord r : run.result.completionReport) {
+                gson.toJson(r, SampleProcessor.SlideCompletionRecord.class, out);
+            }
+            out.endArray().endObject();
+        }
+    }
+
+    /*
+       Chunked NDJSON. Events are built from the stored visits as
+       they're written, so a big run streams in constant memory.
+    */
+    private static void streamEvents(HttpExchange exchange, Run run) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+
+        // Same lines as a ReportWriter NDJSON report, playback only.
+        try (ReportWriter out = new ReportWriter(
+                new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                ReportWriter.Format.NDJSON)) {
+
+            for (SampleProcessor.PlaybackEvent e : run.result.playbackEvents) out.onSlideShown(e);
+        }
+    }
+
+    /* =========================================================
+       Responses
+       ========================================================= */
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("error", message);
+        sendJson(exchange, status, m);
+    }
+}
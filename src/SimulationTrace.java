@@ -0,0 +1,344 @@
+// FILE: src/SimulationTrace.java
+// Purpose: Leveled trace output for the simulation engine. The engine drops raw values into a
+// lock-free ring buffer; a background thread formats them and writes to the console or a file.
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+public final class SimulationTrace {
+
+    /* =========================================================
+       Levels
+
+       OFF      — nothing at all
+       SUMMARY  — one line per run
+       ARRIVALS — plus an [ARRIVAL HIT] line per viewer picked up
+       ALL      — plus [CLOCK] per slide and [SLIDE HIT] per viewer
+
+       The engine checks the level once per run, so at OFF the
+       hot loop never touches this class.
+       ========================================================= */
+    public enum Level {
+        OFF,
+        SUMMARY,
+        ARRIVALS,
+        ALL;
+
+        public boolean includes(Level other) {
+            return other != OFF && compareTo(other) >= 0;
+        }
+    }
+
+    /* =========================================================
+       Defaults from system properties
+
+       -Dsim.trace.level=OFF|SUMMARY|ARRIVALS|ALL  (default SUMMARY)
+       -Dsim.trace.file=path/to/trace.log          (default console)
+       ========================================================= */
+    public static final String LEVEL_PROPERTY = "sim.trace.level";
+    public static final String FILE_PROPERTY = "sim.trace.file";
+
+    public static Level defaultLevel() {
+        String v = System.getProperty(LEVEL_PROPERTY);
+        if (v == null || v.isBlank()) return Level.SUMMARY;
+        try {
+            return Level.valueOf(v.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Unknown " + LEVEL_PROPERTY + " \"" + v + "\", using SUMMARY");
+            return Level.SUMMARY;
+        }
+    }
+
+    private static volatile SimulationTrace shared;
+
+    /** Process-wide trace every processor writes to unless told otherwise. */
+    public static SimulationTrace shared() {
+        SimulationTrace t = shared;
+        if (t == null) {
+            synchronized (SimulationTrace.class) {
+                t = shared;
+                if (t == null) {
+                    t = fromSystemProperties();
+                    SimulationTrace flushOnExit = t;
+                    Runtime.getRuntime().addShutdownHook(
+                            new Thread(flushOnExit::close, "simulation-trace-shutdown"));
+                    shared = t;
+                }
+            }
+        }
+        return t;
+    }
+
+    private static SimulationTrace fromSystemProperties() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null && !file.isBlank()) {
+            try {
+                return toFile(Paths.get(file.trim()));
+            } catch (IOException ex) {
+                System.err.println("Cannot open trace file " + file + ": " + ex.getMessage()
+                        + " — tracing to console");
+            }
+        }
+        return toConsole();
+    }
+
+    public static SimulationTrace toConsole() {
+        // System.out is not ours to close.
+        return new SimulationTrace(new OutputStreamWriter(System.out), false);
+    }
+
+    public static SimulationTrace toFile(Path path) throws IOException {
+        return new SimulationTrace(Files.newBufferedWriter(path, StandardCharsets.UTF_8), true);
+    }
+
+    /* =========================================================
+       Ring buffer
+
+       Bounded multi-producer / single-consumer ring, one sequence
+       number per slot (the usual Vyukov layout):
+
+         sequence == pos          slot is free for the producer
+                                  that claims position pos
+         sequence == pos + 1      slot holds a published entry
+         sequence == pos + size   consumer is done with it
+
+       Producers claim a position with a CAS on tail, fill the
+       preallocated Entry, then publish by bumping the sequence.
+       When the ring is full they spin/yield until the writer
+       catches up — trace lines are never dropped.
+       ========================================================= */
+    private static final int CAPACITY = 1 << 14;
+    private static final int MASK = CAPACITY - 1;
+
+    private static final int KIND_CLOCK = 0;
+    private static final int KIND_ARRIVAL = 1;
+    private static final int KIND_SLIDE = 2;
+    private static final int KIND_MESSAGE = 3;
+
+    private static final class Entry {
+        int kind;
+        long simSeconds;
+        int schoolDaysPerWeek;
+        String who;
+        String what;
+        int seconds;
+    }
+
+    private final Entry[] slots = new Entry[CAPACITY];
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final AtomicLong tail = new AtomicLong();
+
+    // Writer side
+    private final Writer out;
+    private final boolean closeOut;
+    private final StringBuilder line = new StringBuilder(128);
+    private long head;                          // only touched by the writer thread
+    private volatile long writtenUpTo;          // everything before this is flushed to out
+    private volatile boolean running = true;
+    private volatile Thread writer;
+
+    private SimulationTrace(Writer target, boolean closeOut) {
+        this.out = (target instanceof BufferedWriter) ? target : new BufferedWriter(target, 1 << 16);
+        this.closeOut = closeOut;
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Entry();
+            sequences.set(i, i);
+        }
+    }
+
+    /* =========================================================
+       Producer side — called from the engine
+       ========================================================= */
+    public void clock(long simSeconds, int schoolDaysPerWeek, String slideName) {
+        publish(KIND_CLOCK, simSeconds, schoolDaysPerWeek, null, slideName, 0);
+    }
+
+    public void arrival(long simSeconds, int schoolDaysPerWeek, String studentName) {
+        publish(KIND_ARRIVAL, simSeconds, schoolDaysPerWeek, studentName, null, 0);
+    }
+
+    public void slideHit(long simSeconds, int schoolDaysPerWeek, String studentName, String slideName, int seconds) {
+        publish(KIND_SLIDE, simSeconds, schoolDaysPerWeek, studentName, slideName, seconds);
+    }
+
+    public void message(String text) {
+        publish(KIND_MESSAGE, 0, 0, null, text, 0);
+    }
+
+    private void publish(int kind, long simSeconds, int schoolDaysPerWeek, String who, String what, int seconds) {
+
+        if (writer == null) startWriter();
+
+        long pos;
+        for (int spins = 0; ; spins++) {
+            pos = tail.get();
+            long diff = sequences.get((int) (pos & MASK)) - pos;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) break;
+            } else if (diff < 0) {
+                // full — nudge the writer and back off
+                LockSupport.unpark(writer);
+                if (spins < 64) Thread.onSpinWait();
+                else Thread.yield();
+            }
+        }
+
+        Entry e = slots[(int) (pos & MASK)];
+        e.kind = kind;
+        e.simSeconds = simSeconds;
+        e.schoolDaysPerWeek = schoolDaysPerWeek;
+        e.who = who;
+        e.what = what;
+        e.seconds = seconds;
+
+        sequences.set((int) (pos & MASK), pos + 1);
+    }
+
+    private synchronized void startWriter() {
+        if (writer != null) return;
+        Thread t = new Thread(this::drainLoop, "simulation-trace");
+        t.setDaemon(true);
+        t.start();
+        writer = t;
+    }
+
+    /* =========================================================
+       Flush / close
+
+       flush() waits until everything published before the call
+       has reached the target. close() also stops the writer and
+       closes a file target.
+       ========================================================= */
+    public void flush() {
+        long target = tail.get();
+        Thread w = writer;
+        if (w == null) return;
+        while (writtenUpTo < target && w.isAlive()) {
+            LockSupport.unpark(w);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    public void close() {
+        flush();
+        running = false;
+        Thread w = writer;
+        if (w != null) {
+            LockSupport.unpark(w);
+            try {
+                w.join(1000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            if (closeOut) out.close();
+            else out.flush();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /* =========================================================
+       Writer thread
+
+       Drains whatever is published, formats it (all the string
+       work lives here, off the simulation thread), and flushes
+       the target whenever the ring runs dry.
+       ========================================================= */
+    private void drainLoop() {
+        while (true) {
+            boolean wroteAny = false;
+
+            while (true) {
+                int idx = (int) (head & MASK);
+                if (sequences.get(idx) != head + 1) break;
+
+                Entry e = slots[idx];
+                format(e);
+                e.who = null;
+                e.what = null;
+                sequences.set(idx, head + CAPACITY);
+                head++;
+
+                try {
+                    out.append(line).append(System.lineSeparator());
+                } catch (IOException ex) {
+                    // Target is gone; keep draining so producers never block forever.
+                }
+                wroteAny = true;
+            }
+
+            if (wroteAny) {
+                try {
+                    out.flush();
+                } catch (IOException ignored) {
+                }
+                writtenUpTo = head;
+            }
+
+            if (!running && sequences.get((int) (head & MASK)) != head + 1) return;
+
+            if (!wroteAny) LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    private void format(Entry e) {
+        line.setLength(0);
+        switch (e.kind) {
+            case KIND_CLOCK:
+                line.append("[CLOCK] ");
+                appendSimulationTime(e.simSeconds, e.schoolDaysPerWeek);
+                line.append(" — Showing slide: ").append(e.what);
+                break;
+            case KIND_ARRIVAL:
+                line.append("[ARRIVAL HIT] ");
+                appendSimulationTime(e.simSeconds, e.schoolDaysPerWeek);
+                line.append(" — ").append(e.who).append(" entered system");
+                break;
+            case KIND_SLIDE:
+                line.append("[SLIDE HIT] ");
+                appendSimulationTime(e.simSeconds, e.schoolDaysPerWeek);
+                line.append(" — ").append(e.who)
+                        .append(" seeing \"").append(e.what).append("\" for ")
+                        .append(e.seconds).append('s');
+                break;
+            default:
+                line.append(e.what);
+        }
+    }
+
+    // "Week 1 DayIndex 0 08:05:00" — same text the engine used to String.format.
+    private void appendSimulationTime(long totalSeconds, int schoolDaysPerWeek) {
+
+        int secondsPerDay = 86400;
+        long secondsPerWeek = (long) secondsPerDay * Math.max(1, schoolDaysPerWeek);
+
+        long week = totalSeconds / secondsPerWeek + 1;
+        long remainderWeek = totalSeconds % secondsPerWeek;
+
+        long dayIndex = remainderWeek / secondsPerDay;
+        long remainderDay = remainderWeek % secondsPerDay;
+
+        line.append("Week ").append(week).append(" DayIndex ").append(dayIndex).append(' ');
+        appendTwoDigits(remainderDay / 3600);
+        line.append(':');
+        appendTwoDigits((remainderDay % 3600) / 60);
+        line.append(':');
+        appendTwoDigits(remainderDay % 60);
+    }
+
+    private void appendTwoDigits(long v) {
+        if (v < 10) line.append('0');
+        line.append(v);
+    }
+}
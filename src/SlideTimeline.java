@@ -0,0 +1,180 @@
+// FILE: src/SlideTimeline.java
+// Purpose: Immutable prefix-sum index over the playlist so "what is on screen at second t?"
+// is a modulo + binary search instead of a walk around the slide ring.
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class SlideTimeline {
+
+    /* =========================================================
+       Layout
+
+       Slides are kept in slideOrder. offsets[i] is where slide i
+       starts inside one playlist cycle, offsets[n] is the cycle
+       length. The sign starts slide 0 at absolute second 0 and
+       loops forever, so every absolute second maps onto the cycle
+       with a plain modulo.
+       ========================================================= */
+    private final ColumbiaSignUI.SlideDef[] slides;
+    private final int[] durations;
+    private final long[] offsets;
+    private final long cycleLength;
+    private final Map<Integer, Integer> indexBySlideId;
+
+    private SlideTimeline(List<ColumbiaSignUI.SlideDef> ordered) {
+
+        int n = ordered.size();
+
+        this.slides = ordered.toArray(new ColumbiaSignUI.SlideDef[0]);
+        this.durations = new int[n];
+        this.offsets = new long[n + 1];
+        this.indexBySlideId = new HashMap<>();
+
+        long running = 0;
+
+        for (int i = 0; i < n; i++) {
+            int d = slides[i].getDurationSeconds();
+            if (d < 0) {
+                throw new IllegalArgumentException(
+                        "Slide \"" + slides[i].getSlideName() + "\" has a negative duration: " + d);
+            }
+            durations[i] = d;
+            offsets[i] = running;
+            running += d;
+            indexBySlideId.putIfAbsent(slides[i].getSlideId(), i);
+        }
+
+        offsets[n] = running;
+        this.cycleLength = running;
+
+        if (cycleLength <= 0) {
+            throw new IllegalArgumentException("Playlist cycle length must be positive");
+        }
+    }
+
+    /* =========================================================
+       Factory
+
+       Sorts a copy by slideOrder — the caller's list is left alone
+       so the same SlideDef list can be shared between threads.
+       ========================================================= */
+    public static SlideTimeline fromSlides(List<ColumbiaSignUI.SlideDef> slides) {
+
+        if (slides == null || slides.isEmpty()) {
+            throw new IllegalArgumentException("Playlist is empty");
+        }
+
+        List<ColumbiaSignUI.SlideDef> ordered = new ArrayList<>(slides);
+        ordered.sort(Comparator.comparingInt(ColumbiaSignUI.SlideDef::getSlideOrder));
+
+        return new SlideTimeline(ordered);
+    }
+
+    /* =========================================================
+       Basic accessors
+       ========================================================= */
+    public int size() { return slides.length; }
+
+    public long getCycleLength() { return cycleLength; }
+
+    public ColumbiaSignUI.SlideDef getSlide(int index) { return slides[index]; }
+
+    public int getDuration(int index) { return durations[index]; }
+
+    /** Start of slide {@code index} inside one cycle (0 for the first slide). */
+    public long getOffset(int index) { return offsets[index]; }
+
+    /** Playlist position of the slide with this id, or -1 if it isn't in the playlist. */
+    public int indexOfSlideId(int slideId) {
+        Integer idx = indexBySlideId.get(slideId);
+        return idx == null ? -1 : idx;
+    }
+
+    /* =========================================================
+       Lookups
+
+       All of these are O(log n) in the playlist length and
+       independent of how far into the horizon t is.
+       ========================================================= */
+
+    /** Playlist position of the slide on screen at absolute second t. */
+    public int indexAt(long t) {
+        long phase = phaseOf(t);
+        // last slide whose start is <= phase (skips zero-length slides at the same start)
+        return upperBound(phase) - 1;
+    }
+
+    /** The slide on screen at absolute second t. */
+    public ColumbiaSignUI.SlideDef slideAt(long t) {
+        return slides[indexAt(t)];
+    }
+
+    /** Absolute second at which the slide on screen at t started. */
+    public long slideStartAt(long t) {
+        long phase = phaseOf(t);
+        return (t - phase) + offsets[indexAt(t)];
+    }
+
+    /** First slide boundary strictly after t. */
+    public long nextBoundaryAfter(long t) {
+        long phase = phaseOf(t);
+        int i = upperBound(phase);
+        return (t - phase) + offsets[i];   // offsets[n] == cycleLength rolls into the next cycle
+    }
+
+    /**
+     * First slide boundary at or after t. This is where the simulation
+     * picks up a viewer arriving at t.
+     */
+    public long boundaryAtOrAfter(long t) {
+        long phase = phaseOf(t);
+        int i = lowerBound(phase);
+        return (t - phase) + offsets[i];
+    }
+
+    /**
+     * Playlist position of the first slide that starts exactly on this
+     * boundary (the one the ring would show first, zero-length slides included).
+     * Back at the top of the loop that's any zero-length slide at the end of
+     * the playlist, since those start at offsets[n]; only second 0 itself,
+     * where the sign starts, begins with slide 0.
+     */
+    public int indexAtBoundary(long boundary) {
+        long phase = phaseOf(boundary);
+        int i = lowerBound((phase == 0 && boundary != 0) ? cycleLength : phase);
+        return (i == slides.length) ? 0 : i;
+    }
+
+    /* =========================================================
+       Internals
+       ========================================================= */
+    private long phaseOf(long t) {
+        return Math.floorMod(t, cycleLength);
+    }
+
+    // first i in [0, n] with offsets[i] >= phase
+    private int lowerBound(long phase) {
+        int lo = 0, hi = slides.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid] < phase) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // first i in [0, n] with offsets[i] > phase
+    private int upperBound(long phase) {
+        int lo = 0, hi = slides.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid] <= phase) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
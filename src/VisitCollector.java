@@ -0,0 +1,67 @@
+// FILE: src/VisitCollector.java
+// Purpose: Keeps a run as one VisitRecord per arrival plus the completion report, instead of
+// every PlaybackEvent. The SimulationResult it builds expands playback lazily from the visits.
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VisitCollector implements SimulationListener {
+
+    private final SlideTimeline timeline;
+    private final long simulationEnd;
+    private final List<VisitRecord> visits = new ArrayList<>();
+    private final List<SampleProcessor.SlideCompletionRecord> completion = new ArrayList<>();
+
+    public VisitCollector(SimulationInputs inputs) {
+        this.timeline = inputs.getTimeline();
+        this.simulationEnd = inputs.getSimulationEndSeconds();
+    }
+
+    /*
+       Arrivals come in admission order, which is the order the
+       lazy playback view relies on. Slide hits are ignored — the
+       visit already says which slides they were.
+    */
+    @Override
+    public void onArrival(SampleProcessor.ArrivalEvent arrival, long admittedAtSeconds) {
+        visits.add(VisitRecord.of(arrival, admittedAtSeconds, timeline, simulationEnd));
+    }
+
+    @Override
+    public void onCompletion(SampleProcessor.SlideCompletionRecord record) {
+        completion.add(record);
+    }
+
+    public List<VisitRecord> getVisits() { return visits; }
+
+    public SampleProcessor.SimulationResult toResult() {
+        return new SampleProcessor.SimulationResult(
+                VisitRecord.playbackView(visits, timeline), completion, timeline, visits);
+    }
+
+    /* =========================================================
+       Completion straight from visits
+
+       Same records, same order as the engine's report, rebuilt
+       from the visits alone (e.g. for visits kept from an
+       earlier run).
+       ========================================================= */
+    public static List<SampleProcessor.SlideCompletionRecord> completionReport(
+            List<VisitRecord> visits,
+            SlideTimeline timeline,
+            List<ColumbiaSignUI.StudentDef> students,
+            int weeksToSimulate) {
+
+        ExposureMatrix exposure = new ExposureMatrix(Math.max(0, weeksToSimulate), students.size(), timeline.size());
+        for (VisitRecord v : visits) v.addTo(exposure, timeline);
+
+        List<SampleProcessor.SlideCompletionRecord> out = new ArrayList<>();
+        SampleProcessor.emitCompletionReport(exposure, timeline, students, new SimulationListener() {
+            @Override
+            public void onCompletion(SampleProcessor.SlideCompletionRecord record) {
+                out.add(record);
+            }
+        });
+        return out;
+    }
+}
@@ -0,0 +1,262 @@
+// FILE: src/VisitRecord.java
+// Purpose: One record per viewer visit (arrival -> walked away) instead of one PlaybackEvent per
+// slide seen. The per-slide events are rebuilt from the playlist only when someone asks for them.
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+public final class VisitRecord {
+
+    /* =========================================================
+       What a visit is
+
+       A viewer is picked up on a slide boundary, so the first
+       slide they see is always shown from its start. From there
+       they see consecutive playlist slides, each for its whole
+       duration, until their visibility runs out part-way through
+       the last one (or the horizon ends). So a visit is fully
+       described by:
+
+         startSlideIndex    playlist position they were picked up on
+         admittedAtSeconds  absolute second of that boundary
+         slideCount         slides seen (one PlaybackEvent each)
+         lastSlideSeconds   seconds seen of the last slide
+         phaseShift         playlist phase of the powered-on
+                            interval (0 without a calendar)
+
+       With a calendar the sign can also go off mid-slide; the
+       last slide is then cut there, same as in the clock loop.
+
+       When slideCount == 1 the first slide is the last slide and
+       lastSlideSeconds is all they saw of it.
+       ========================================================= */
+    public final int weekNumber;
+    public final int studentIndex;
+    public final String studentName;
+    public final int dayOrdinal;      // SimTime day ordinal
+    public final int arrivalMinute;   // minute of day
+
+    public final int startSlideIndex;
+    public final long admittedAtSeconds;
+    public final int slideCount;
+    public final int lastSlideSeconds;
+    public final long phaseShift;
+
+    public VisitRecord(int weekNumber, int studentIndex, String studentName, int dayOrdinal, int arrivalMinute,
+                       int startSlideIndex, long admittedAtSeconds, int slideCount, int lastSlideSeconds,
+                       long phaseShift) {
+        this.weekNumber = weekNumber;
+        this.studentIndex = studentIndex;
+        this.studentName = studentName;
+        this.dayOrdinal = dayOrdinal;
+        this.arrivalMinute = arrivalMinute;
+        this.startSlideIndex = startSlideIndex;
+        this.admittedAtSeconds = admittedAtSeconds;
+        this.slideCount = slideCount;
+        this.lastSlideSeconds = lastSlideSeconds;
+        this.phaseShift = phaseShift;
+    }
+
+    /*
+       Builds the visit the engine will play out for this arrival:
+       same walk as the clock loop (min(duration, remaining, time
+       to power-off) per slide, stop at simulationEnd or power-off),
+       but only counting.
+    */
+    public static VisitRecord of(SampleProcessor.ArrivalEvent arrival,
+                                 long admittedAtSeconds,
+                                 SlideTimeline timeline,
+                                 long simulationEnd) {
+
+        long shift = arrival.getPhaseShift();
+        long cutAt = arrival.getCutAtSeconds();
+        long end = Math.min(simulationEnd, cutAt);
+
+        int start = timeline.indexAtBoundary(admittedAtSeconds - shift);
+        int index = start;
+        long t = admittedAtSeconds;
+        int remaining = arrival.getVisibilitySeconds();
+        int count = 0;
+        int last = 0;
+
+        while (t < end) {
+            int d = timeline.getDuration(index);
+            last = (int) Math.min(Math.min(d, remaining), cutAt - t);
+            count++;
+            remaining -= last;
+            if (remaining <= 0) break;
+            t += d;
+            index = (index + 1) % timeline.size();
+        }
+
+        return new VisitRecord(
+                arrival.getWeekNumber(),
+                arrival.getStudentIndex(),
+                arrival.getStudentName(),
+                arrival.getDayOrdinal(),
+                arrival.getArrivalMinute(),
+                start,
+                admittedAtSeconds,
+                count,
+                last,
+                shift);
+    }
+
+    /* =========================================================
+       Expansion
+       ========================================================= */
+
+    /** Seconds this visit spent on its j-th slide (0-based). */
+    public int secondsOnSlide(SlideTimeline timeline, int j) {
+        return (j == slideCount - 1) ? lastSlideSeconds : timeline.getDuration((startSlideIndex + j) % timeline.size());
+    }
+
+    /** Hands out this visit's PlaybackEvents in order, one object per slide. */
+    public void forEachEvent(SlideTimeline timeline, Consumer<SampleProcessor.PlaybackEvent> action) {
+        int index = startSlideIndex;
+        long t = admittedAtSeconds;
+        for (int j = 0; j < slideCount; j++) {
+            action.accept(eventAt(timeline, j, index, t));
+            t += timeline.getDuration(index);
+            index = (index + 1) % timeline.size();
+        }
+    }
+
+    public List<SampleProcessor.PlaybackEvent> expand(SlideTimeline timeline) {
+        List<SampleProcessor.PlaybackEvent> out = new ArrayList<>(slideCount);
+        forEachEvent(timeline, out::add);
+        return out;
+    }
+
+    /** Adds what this visit saw to the exposure arrays, without building events. */
+    public void addTo(ExposureMatrix exposure, SlideTimeline timeline) {
+        int index = startSlideIndex;
+        for (int j = 0; j < slideCount; j++) {
+            exposure.add(weekNumber, studentIndex, index, secondsOnSlide(timeline, j));
+            index = (index + 1) % timeline.size();
+        }
+    }
+
+    private SampleProcessor.PlaybackEvent eventAt(SlideTimeline timeline, int j, int index, long slideStart) {
+        ColumbiaSignUI.SlideDef s = timeline.getSlide(index);
+        return new SampleProcessor.PlaybackEvent(
+                weekNumber,
+                studentName,
+                studentIndex,
+                dayOrdinal,
+                arrivalMinute,
+                s.getSlideId(),
+                s.getSlideName(),
+                index,
+                slideStart,
+                secondsOnSlide(timeline, j));
+    }
+
+    /* =========================================================
+       The whole run's playback stream, lazily
+
+       Visits in admission order interleave on the clock: at each
+       slide boundary every active viewer gets one event, oldest
+       arrival first. Merging the visits by (boundary number, visit
+       position) rebuilds exactly that order. Boundaries are
+       numbered cycle * slides + index rather than compared by
+       time, so zero-length slides keep their place too.
+
+       The returned List builds events as they're read. Reading
+       front to back (what playback does) walks one merge; jumping
+       backwards restarts it.
+       ========================================================= */
+    public static List<SampleProcessor.PlaybackEvent> playbackView(List<VisitRecord> visits, SlideTimeline timeline) {
+
+        long total = 0;
+        for (VisitRecord v : visits) total += v.slideCount;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many playback events for a List view: " + total);
+        }
+        return new PlaybackView(visits, timeline, (int) total);
+    }
+
+    private static final class Cursor {
+        final int visit;
+        int j;
+        int index;
+        long slideStart;
+        long step;
+
+        Cursor(int visit, VisitRecord v, long step) {
+            this.visit = visit;
+            this.index = v.startSlideIndex;
+            this.slideStart = v.admittedAtSeconds;
+            this.step = step;
+        }
+    }
+
+    private static final class PlaybackView extends AbstractList<SampleProcessor.PlaybackEvent> {
+
+        private final List<VisitRecord> visits;
+        private final SlideTimeline timeline;
+        private final int size;
+
+        private PriorityQueue<Cursor> heap;
+        private int nextVisit;           // next visit not yet in the heap
+        private int position = -1;       // index of the last event handed out
+        private SampleProcessor.PlaybackEvent current;
+
+        PlaybackView(List<VisitRecord> visits, SlideTimeline timeline, int size) {
+            this.visits = visits;
+            this.timeline = timeline;
+            this.size = size;
+        }
+
+        @Override
+        public int size() { return size; }
+
+        @Override
+        public synchronized SampleProcessor.PlaybackEvent get(int i) {
+            if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+            if (i < position || heap == null) restart();
+            while (position < i) advance();
+            return current;
+        }
+
+        private long startStep(VisitRecord v) {
+            long cycle = Math.floorDiv(v.admittedAtSeconds - v.phaseShift - timeline.getOffset(v.startSlideIndex),
+                    timeline.getCycleLength());
+            return cycle * timeline.size() + v.startSlideIndex;
+        }
+
+        private void restart() {
+            heap = new PriorityQueue<>((a, b) -> a.step != b.step
+                    ? Long.compare(a.step, b.step)
+                    : Integer.compare(a.visit, b.visit));
+            nextVisit = 0;
+            position = -1;
+            current = null;
+        }
+
+        private void advance() {
+            // Visits are in admission order, so a visit can only be
+            // next once the heap's earliest event isn't before its start.
+            while (nextVisit < visits.size()) {
+                VisitRecord v = visits.get(nextVisit);
+                long step = startStep(v);
+                if (!heap.isEmpty() && step > heap.peek().step) break;
+                if (v.slideCount > 0) heap.add(new Cursor(nextVisit, v, step));
+                nextVisit++;
+            }
+
+            Cursor c = heap.poll();
+            VisitRecord v = visits.get(c.visit);
+            current = v.eventAt(timeline, c.j, c.index, c.slideStart);
+            position++;
+
+            c.slideStart += timeline.getDuration(c.index);
+            c.index = (c.index + 1) % timeline.size();
+            c.step++;
+            if (++c.j < v.slideCount) heap.add(c);
+        }
+    }
+}